@@ -0,0 +1,143 @@
+package com.coralogix.jenkins;
+
+import com.google.gson.Gson;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Slave;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.coralogix.jenkins.model.AgentStats;
+import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.LogShipper;
+import com.coralogix.jenkins.utils.AgentStatsCallable;
+
+/**
+ * Jenkins agents resources metrics collector definition
+ * Periodically asks all online agents for their resources usage in parallel
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Extension
+public class CoralogixAgentMetricsCollector extends AsyncPeriodicWork {
+
+    /**
+     * Collector logger
+     */
+    private static final Logger logger = Logger.getLogger(CoralogixAgentMetricsCollector.class.getName());
+
+    /**
+     * Time to wait for all agents answers in milliseconds
+     */
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Last collection timestamp
+     */
+    private long lastCollection;
+
+    /**
+     * Initialize collector
+     */
+    public CoralogixAgentMetricsCollector() {
+        super("Coralogix agents metrics");
+    }
+
+    /**
+     * Collector check period, the shortest allowed sampling interval
+     *
+     * @return check period in milliseconds
+     */
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.SECONDS.toMillis(10);
+    }
+
+    /**
+     * Collect and send agents metrics when the configured interval has passed
+     *
+     * @param listener task listener context
+     * @throws InterruptedException
+     */
+    @Override
+    protected void execute(TaskListener listener) throws InterruptedException {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        if (configuration == null || !Boolean.TRUE.equals(configuration.getAgentMetricsEnabled())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastCollection < configuration.getMetricsIntervalMillis() - 1000) {
+            return;
+        }
+        lastCollection = now;
+        Map<String, Future<AgentStats>> requests = new LinkedHashMap<>();
+        for (Node node : Jenkins.get().getNodes()) {
+            Computer computer = node.toComputer();
+            VirtualChannel channel = computer != null && computer.isOnline() ? computer.getChannel() : null;
+            if (channel == null) {
+                continue;
+            }
+            try {
+                requests.put(node.getNodeName(), channel.callAsync(new AgentStatsCallable(workspaceRoot(node))));
+            } catch (Exception e) {
+                logger.log(Level.FINE, "Cannot request metrics from agent " + node.getNodeName(), e);
+            }
+        }
+        Destination destination = new Destination(
+            Secret.toString(configuration.getPrivateKey()),
+            configuration.getJenkinsName(),
+            "agents"
+        );
+        Gson gson = new Gson();
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        for (Map.Entry<String, Future<AgentStats>> request : requests.entrySet()) {
+            try {
+                AgentStats stats = request.getValue().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                stats.setAgent(request.getKey());
+                LogShipper.get().offer(Lane.METRICS, destination, new Log(
+                    now,
+                    3,
+                    gson.toJson(stats),
+                    "metrics",
+                    "",
+                    "",
+                    request.getKey()
+                ));
+            } catch (TimeoutException e) {
+                request.getValue().cancel(true);
+                logger.log(Level.FINE, "Agent {0} did not return metrics in time", request.getKey());
+            } catch (ExecutionException e) {
+                logger.log(Level.FINE, "Cannot collect metrics from agent " + request.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Agent workspace root path
+     *
+     * @param node agent node
+     * @return workspace root path or null when it is not known
+     */
+    private static String workspaceRoot(Node node) {
+        FilePath root = node instanceof Slave ? ((Slave) node).getWorkspaceRoot() : node.getRootPath();
+        return root != null ? root.getRemote() : null;
+    }
+}
\ No newline at end of file
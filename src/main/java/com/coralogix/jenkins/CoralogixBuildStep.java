@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 import com.coralogix.jenkins.model.Application;
 import com.coralogix.jenkins.model.Subsystem;
 import com.coralogix.jenkins.utils.CoralogixAPI;
+import com.coralogix.jenkins.utils.EnvironmentCache;
 import com.coralogix.jenkins.credentials.CoralogixApiCredential;
 
 /**
@@ -142,11 +143,12 @@ public class CoralogixBuildStep extends Builder implements SimpleBuildStep {
     @Override
     public void perform(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener) throws InterruptedException, IOException {
         try {
+            EnvironmentCache environment = new EnvironmentCache(run, listener);
             CoralogixAPI.pushTag(
                 CoralogixAPI.retrieveCoralogixApiCredential(run, apiKeyCredentialId),
-                applications.stream().map(application -> CoralogixAPI.replaceMacros(run, listener, application.getName())).collect(Collectors.toList()),
-                subsystems.stream().map(subsystem -> CoralogixAPI.replaceMacros(run, listener, subsystem.getName())).collect(Collectors.toList()),
-                CoralogixAPI.replaceMacros(run, listener, tag),
+                applications.stream().map(application -> CoralogixAPI.replaceMacros(environment, application.getName())).collect(Collectors.toList()),
+                subsystems.stream().map(subsystem -> CoralogixAPI.replaceMacros(environment, subsystem.getName())).collect(Collectors.toList()),
+                CoralogixAPI.replaceMacros(environment, tag),
                 icon
             );
         } catch (Exception e) {
@@ -19,11 +19,10 @@ import org.kohsuke.stapler.QueryParameter;
 
 import java.io.*;
 import java.util.List;
-import java.util.ArrayList;
 import javax.servlet.ServletException;
 
 import com.coralogix.jenkins.utils.CoralogixAPI;
-import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.utils.EnvironmentCache;
 import com.coralogix.jenkins.credentials.CoralogixCredential;
 
 /**
@@ -128,34 +127,13 @@ public class CoralogixBuildWrapper extends BuildWrapper {
             @Override
             public boolean tearDown(AbstractBuild build, BuildListener listener) throws IOException, InterruptedException {
                 try {
-                    List<Log> logEntries = new ArrayList<>();
-                    List<String> logLines = build.getLog(Integer.MAX_VALUE);
-                    if (splitLogs) {
-                        for (String logRecordText : logLines) {
-                            logEntries.add(new Log(
-                                1,
-                                logRecordText,
-                                "job",
-                                "",
-                                "",
-                                build.getDisplayName()
-                            ));
-                        }
-                    } else {
-                        logEntries.add(new Log(
-                            1,
-                            String.join("\n", logLines),
-                            "job",
-                            "",
-                            "",
-                            build.getDisplayName()
-                        ));
-                    }
-                    CoralogixAPI.sendLogs(
+                    EnvironmentCache environment = new EnvironmentCache(build, listener);
+                    CoralogixAPI.sendBuildLogs(
+                        build,
                         CoralogixAPI.retrieveCoralogixCredential(build, privateKeyCredentialId),
-                        CoralogixAPI.replaceMacros(build, listener, application),
-                        CoralogixAPI.replaceMacros(build, listener, subsystem),
-                        logEntries
+                        CoralogixAPI.replaceMacros(environment, application),
+                        CoralogixAPI.replaceMacros(environment, subsystem),
+                        splitLogs
                     );
                 } catch (Exception e) {
                     listener.getLogger().println("Cannot send build logs to Coralogix!");
@@ -4,10 +4,27 @@ import hudson.Extension;
 import hudson.util.Secret;
 import hudson.util.FormValidation;
 import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
 import org.apache.commons.lang.StringUtils;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.coralogix.jenkins.credentials.CoralogixCredential;
+import com.coralogix.jenkins.model.LanePolicy;
+import com.coralogix.jenkins.model.RoutingRule;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.PathTrie;
+import com.coralogix.jenkins.utils.CredentialsCache;
+
 /**
  * Jenkins plugin global configuration definition
  *
@@ -53,6 +70,106 @@ public class CoralogixConfiguration extends GlobalConfiguration {
      */
     private String apiEndpoint;
 
+    /**
+     * Build events sending status
+     */
+    private Boolean buildEventsEnabled = false;
+
+    /**
+     * Controller metrics sending status
+     */
+    private Boolean metricsEnabled = false;
+
+    /**
+     * Controller metrics sampling interval in seconds
+     */
+    private Integer metricsInterval = 60;
+
+    /**
+     * Agents metrics sending status
+     */
+    private Boolean agentMetricsEnabled = false;
+
+    /**
+     * Audit events coalescing window in seconds
+     */
+    private Integer auditCoalesceWindow = 5;
+
+    /**
+     * Outbound lanes backpressure policies
+     */
+    private List<LanePolicy> lanePolicies = new ArrayList<>();
+
+    /**
+     * Outbound bandwidth limit in kilobytes per second, 0 when not limited
+     */
+    private Integer egressBytesLimit = 0;
+
+    /**
+     * Outbound requests limit per second, 0 when not limited
+     */
+    private Integer egressRequestsLimit = 0;
+
+    /**
+     * Outbound burst length in seconds
+     */
+    private Integer egressBurst = 2;
+
+    /**
+     * Shutdown drain and startup replay timeout in seconds
+     */
+    private Integer drainTimeout = 30;
+
+    /**
+     * Events routing rules
+     */
+    private List<RoutingRule> routingRules = new ArrayList<>();
+
+    /**
+     * Compiled routing rules, built on first use
+     */
+    private transient volatile PathTrie<RoutingRule> routes;
+
+    /**
+     * Configuration logger
+     */
+    private static final Logger logger = Logger.getLogger(CoralogixConfiguration.class.getName());
+
+    /**
+     * Routing rules credentials reported as missing, so every missing credential is reported once
+     */
+    private static final Set<String> missingCredentials = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Minimal number of log records in one bulk
+     */
+    private Integer batchSizeMin = 100;
+
+    /**
+     * Maximal number of log records in one bulk
+     */
+    private Integer batchSizeMax = 2000;
+
+    /**
+     * Minimal time between queue flushes in milliseconds
+     */
+    private Integer lingerMin = 200;
+
+    /**
+     * Maximal time between queue flushes in milliseconds
+     */
+    private Integer lingerMax = 5000;
+
+    /**
+     * Requests latency above which bulks are made smaller, in milliseconds
+     */
+    private Integer targetLatency = 1000;
+
+    /**
+     * Retries of a failed logs bulk request
+     */
+    private Integer maxRetries = 3;
+
     /**
      * Global configuration getter
      *
@@ -132,6 +249,272 @@ public class CoralogixConfiguration extends GlobalConfiguration {
         return this.apiEndpoint;
     }
 
+    /**
+     * Jenkins build events status getter
+     *
+     * @return build events sending status
+     */
+    public Boolean getBuildEventsEnabled() {
+        return this.buildEventsEnabled;
+    }
+
+    /**
+     * Jenkins controller metrics status getter
+     *
+     * @return controller metrics sending status
+     */
+    public Boolean getMetricsEnabled() {
+        return this.metricsEnabled;
+    }
+
+    /**
+     * Controller metrics sampling interval getter
+     *
+     * @return the currently configured sampling interval in seconds
+     */
+    public Integer getMetricsInterval() {
+        return this.metricsInterval;
+    }
+
+    /**
+     * Jenkins agents metrics status getter
+     *
+     * @return agents metrics sending status
+     */
+    public Boolean getAgentMetricsEnabled() {
+        return this.agentMetricsEnabled;
+    }
+
+    /**
+     * Metrics sampling interval builder
+     *
+     * @return sampling interval in milliseconds
+     */
+    public long getMetricsIntervalMillis() {
+        return TimeUnit.SECONDS.toMillis(this.metricsInterval != null ? Math.max(10, this.metricsInterval) : 60);
+    }
+
+    /**
+     * Audit events coalescing window getter
+     *
+     * @return the currently configured coalescing window in seconds
+     */
+    public Integer getAuditCoalesceWindow() {
+        return this.auditCoalesceWindow;
+    }
+
+    /**
+     * Audit events coalescing window builder
+     *
+     * @return coalescing window in milliseconds, 0 when coalescing is disabled
+     */
+    public long getAuditCoalesceWindowMillis() {
+        return TimeUnit.SECONDS.toMillis(this.auditCoalesceWindow != null ? Math.max(0, this.auditCoalesceWindow) : 5);
+    }
+
+    /**
+     * Lanes policies getter
+     *
+     * @return the currently configured lanes policies
+     */
+    public List<LanePolicy> getLanePolicies() {
+        return this.lanePolicies;
+    }
+
+    /**
+     * Lane policy builder
+     *
+     * @param lane outbound lane
+     * @return configured lane policy or the default policy when the lane is not configured
+     */
+    public LanePolicy getLanePolicy(Lane lane) {
+        if (this.lanePolicies != null) {
+            for (LanePolicy lanePolicy : this.lanePolicies) {
+                if (lanePolicy.getLane() == lane && lanePolicy.getPolicy() != null) {
+                    return lanePolicy;
+                }
+            }
+        }
+        return LanePolicy.defaultPolicy(lane);
+    }
+
+    /**
+     * Outbound bandwidth limit getter
+     *
+     * @return the currently configured bandwidth limit in kilobytes per second
+     */
+    public Integer getEgressBytesLimit() {
+        return this.egressBytesLimit;
+    }
+
+    /**
+     * Outbound bandwidth limit builder
+     *
+     * @return bandwidth limit in bytes per second, 0 when not limited
+     */
+    public long getEgressBytesPerSecond() {
+        return this.egressBytesLimit != null ? Math.max(0, this.egressBytesLimit) * 1024L : 0;
+    }
+
+    /**
+     * Outbound requests limit getter
+     *
+     * @return the currently configured requests limit per second
+     */
+    public Integer getEgressRequestsLimit() {
+        return this.egressRequestsLimit;
+    }
+
+    /**
+     * Outbound requests limit builder
+     *
+     * @return requests limit per second, 0 when not limited
+     */
+    public long getEgressRequestsPerSecond() {
+        return this.egressRequestsLimit != null ? Math.max(0, this.egressRequestsLimit) : 0;
+    }
+
+    /**
+     * Outbound burst length getter
+     *
+     * @return the currently configured burst length in seconds
+     */
+    public Integer getEgressBurst() {
+        return this.egressBurst;
+    }
+
+    /**
+     * Drain timeout getter
+     *
+     * @return the currently configured drain timeout in seconds
+     */
+    public Integer getDrainTimeout() {
+        return this.drainTimeout;
+    }
+
+    /**
+     * Drain timeout builder
+     *
+     * @return drain timeout in milliseconds
+     */
+    public long getDrainTimeoutMillis() {
+        return TimeUnit.SECONDS.toMillis(this.drainTimeout != null ? Math.max(0, this.drainTimeout) : 30);
+    }
+
+    /**
+     * Routing rules getter
+     *
+     * @return the currently configured routing rules
+     */
+    public List<RoutingRule> getRoutingRules() {
+        return this.routingRules;
+    }
+
+    /**
+     * Event destination builder
+     * Events of the folders and jobs matching a routing rule are sent to the rule account,
+     * the rest and the events which are not about an item go to the global account.
+     * Events matching a rule which credential cannot be found are not sent anywhere,
+     * so they never leak to the global account
+     *
+     * @param itemName  full name of the folder or job the event is about, null when there is none
+     * @param subsystem event subsystem name
+     * @return event destination or null when the event has to be dropped
+     */
+    public Destination getDestination(String itemName, String subsystem) {
+        PathTrie<RoutingRule> trie = this.routes;
+        if (trie == null) {
+            trie = new PathTrie<>();
+            if (this.routingRules != null) {
+                for (RoutingRule rule : this.routingRules) {
+                    if (StringUtils.isNotBlank(rule.getPattern())) {
+                        trie.add(rule.getPattern(), rule);
+                    }
+                }
+            }
+            this.routes = trie;
+        }
+        RoutingRule rule = StringUtils.isEmpty(itemName) || trie.size() == 0 ? null : trie.match(itemName);
+        if (rule != null) {
+            CoralogixCredential credential = CredentialsCache.lookup(
+                CoralogixCredential.class,
+                Jenkins.get(),
+                rule.getPrivateKeyCredentialId()
+            );
+            if (credential == null) {
+                if (missingCredentials.add(rule.getPrivateKeyCredentialId())) {
+                    logger.log(
+                        Level.WARNING,
+                        "Coralogix credential {0} of the routing rule {1} cannot be found, events of the matching items are dropped",
+                        new Object[]{rule.getPrivateKeyCredentialId(), rule.getPattern()}
+                    );
+                }
+                return null;
+            }
+            missingCredentials.remove(rule.getPrivateKeyCredentialId());
+            return new Destination(
+                credential.getPrivateKey(),
+                StringUtils.defaultIfEmpty(rule.getApplication(), this.jenkinsName),
+                StringUtils.defaultIfEmpty(rule.getSubsystem(), subsystem)
+            );
+        }
+        return new Destination(Secret.toString(this.privateKey), this.jenkinsName, subsystem);
+    }
+
+    /**
+     * Minimal bulk size getter
+     *
+     * @return the currently configured minimal number of log records in one bulk
+     */
+    public Integer getBatchSizeMin() {
+        return this.batchSizeMin;
+    }
+
+    /**
+     * Maximal bulk size getter
+     *
+     * @return the currently configured maximal number of log records in one bulk
+     */
+    public Integer getBatchSizeMax() {
+        return this.batchSizeMax;
+    }
+
+    /**
+     * Minimal linger time getter
+     *
+     * @return the currently configured minimal linger time in milliseconds
+     */
+    public Integer getLingerMin() {
+        return this.lingerMin;
+    }
+
+    /**
+     * Maximal linger time getter
+     *
+     * @return the currently configured maximal linger time in milliseconds
+     */
+    public Integer getLingerMax() {
+        return this.lingerMax;
+    }
+
+    /**
+     * Target latency getter
+     *
+     * @return the currently configured target latency in milliseconds
+     */
+    public Integer getTargetLatency() {
+        return this.targetLatency;
+    }
+
+    /**
+     * Retries count getter
+     *
+     * @return the currently configured number of retries of a failed logs bulk request
+     */
+    public Integer getMaxRetries() {
+        return this.maxRetries;
+    }
+
     /**
      * Coralogix endpoint builder
      *
@@ -175,6 +558,7 @@ public class CoralogixConfiguration extends GlobalConfiguration {
     public void setSystemLogsEnabled(Boolean systemLogsEnabled) {
         this.systemLogsEnabled = systemLogsEnabled;
         save();
+        CoralogixLogHandler.update();
     }
 
     /**
@@ -221,6 +605,195 @@ public class CoralogixConfiguration extends GlobalConfiguration {
         save();
     }
 
+    /**
+     * Jenkins build events status setter
+     *
+     * @param buildEventsEnabled the new status for build events sending
+     */
+    @DataBoundSetter
+    public void setBuildEventsEnabled(Boolean buildEventsEnabled) {
+        this.buildEventsEnabled = buildEventsEnabled;
+        save();
+    }
+
+    /**
+     * Jenkins controller metrics status setter
+     *
+     * @param metricsEnabled the new status for controller metrics sending
+     */
+    @DataBoundSetter
+    public void setMetricsEnabled(Boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+        save();
+    }
+
+    /**
+     * Controller metrics sampling interval setter
+     *
+     * @param metricsInterval the new value of the sampling interval in seconds
+     */
+    @DataBoundSetter
+    public void setMetricsInterval(Integer metricsInterval) {
+        this.metricsInterval = metricsInterval;
+        save();
+    }
+
+    /**
+     * Jenkins agents metrics status setter
+     *
+     * @param agentMetricsEnabled the new status for agents metrics sending
+     */
+    @DataBoundSetter
+    public void setAgentMetricsEnabled(Boolean agentMetricsEnabled) {
+        this.agentMetricsEnabled = agentMetricsEnabled;
+        save();
+    }
+
+    /**
+     * Audit events coalescing window setter
+     *
+     * @param auditCoalesceWindow the new value of the coalescing window in seconds
+     */
+    @DataBoundSetter
+    public void setAuditCoalesceWindow(Integer auditCoalesceWindow) {
+        this.auditCoalesceWindow = auditCoalesceWindow;
+        save();
+    }
+
+    /**
+     * Lanes policies setter
+     *
+     * @param lanePolicies the new lanes policies
+     */
+    @DataBoundSetter
+    public void setLanePolicies(List<LanePolicy> lanePolicies) {
+        this.lanePolicies = lanePolicies;
+        save();
+    }
+
+    /**
+     * Outbound bandwidth limit setter
+     *
+     * @param egressBytesLimit the new value of the bandwidth limit in kilobytes per second
+     */
+    @DataBoundSetter
+    public void setEgressBytesLimit(Integer egressBytesLimit) {
+        this.egressBytesLimit = egressBytesLimit;
+        save();
+    }
+
+    /**
+     * Outbound requests limit setter
+     *
+     * @param egressRequestsLimit the new value of the requests limit per second
+     */
+    @DataBoundSetter
+    public void setEgressRequestsLimit(Integer egressRequestsLimit) {
+        this.egressRequestsLimit = egressRequestsLimit;
+        save();
+    }
+
+    /**
+     * Outbound burst length setter
+     *
+     * @param egressBurst the new value of the burst length in seconds
+     */
+    @DataBoundSetter
+    public void setEgressBurst(Integer egressBurst) {
+        this.egressBurst = egressBurst;
+        save();
+    }
+
+    /**
+     * Drain timeout setter
+     *
+     * @param drainTimeout the new value of the drain timeout in seconds
+     */
+    @DataBoundSetter
+    public void setDrainTimeout(Integer drainTimeout) {
+        this.drainTimeout = drainTimeout;
+        save();
+    }
+
+    /**
+     * Routing rules setter
+     *
+     * @param routingRules the new routing rules
+     */
+    @DataBoundSetter
+    public void setRoutingRules(List<RoutingRule> routingRules) {
+        this.routingRules = routingRules;
+        this.routes = null;
+        missingCredentials.clear();
+        save();
+    }
+
+    /**
+     * Minimal bulk size setter
+     *
+     * @param batchSizeMin the new value of the minimal bulk size
+     */
+    @DataBoundSetter
+    public void setBatchSizeMin(Integer batchSizeMin) {
+        this.batchSizeMin = batchSizeMin;
+        save();
+    }
+
+    /**
+     * Maximal bulk size setter
+     *
+     * @param batchSizeMax the new value of the maximal bulk size
+     */
+    @DataBoundSetter
+    public void setBatchSizeMax(Integer batchSizeMax) {
+        this.batchSizeMax = batchSizeMax;
+        save();
+    }
+
+    /**
+     * Minimal linger time setter
+     *
+     * @param lingerMin the new value of the minimal linger time in milliseconds
+     */
+    @DataBoundSetter
+    public void setLingerMin(Integer lingerMin) {
+        this.lingerMin = lingerMin;
+        save();
+    }
+
+    /**
+     * Maximal linger time setter
+     *
+     * @param lingerMax the new value of the maximal linger time in milliseconds
+     */
+    @DataBoundSetter
+    public void setLingerMax(Integer lingerMax) {
+        this.lingerMax = lingerMax;
+        save();
+    }
+
+    /**
+     * Target latency setter
+     *
+     * @param targetLatency the new value of the target latency in milliseconds
+     */
+    @DataBoundSetter
+    public void setTargetLatency(Integer targetLatency) {
+        this.targetLatency = targetLatency;
+        save();
+    }
+
+    /**
+     * Retries count setter
+     *
+     * @param maxRetries the new value of the retries count
+     */
+    @DataBoundSetter
+    public void setMaxRetries(Integer maxRetries) {
+        this.maxRetries = maxRetries;
+        save();
+    }
+
     /**
      * Coralogix Private Key validator
      *
@@ -259,4 +832,204 @@ public class CoralogixConfiguration extends GlobalConfiguration {
         }
         return FormValidation.ok();
     }
+
+    /**
+     * Controller metrics sampling interval validator
+     *
+     * @param metricsInterval sampling interval in seconds
+     * @return sampling interval validation status
+     */
+    public FormValidation doCheckMetricsInterval(@QueryParameter String metricsInterval) {
+        return checkAtLeast(metricsInterval, 10, "Sampling interval in seconds");
+    }
+
+    /**
+     * Audit events coalescing window validator
+     *
+     * @param auditCoalesceWindow coalescing window in seconds
+     * @return coalescing window validation status
+     */
+    public FormValidation doCheckAuditCoalesceWindow(@QueryParameter String auditCoalesceWindow) {
+        return checkNotNegative(auditCoalesceWindow, "Coalescing window");
+    }
+
+    /**
+     * Outbound bandwidth limit validator
+     *
+     * @param egressBytesLimit bandwidth limit in kilobytes per second
+     * @return bandwidth limit validation status
+     */
+    public FormValidation doCheckEgressBytesLimit(@QueryParameter String egressBytesLimit) {
+        return checkNotNegative(egressBytesLimit, "Bandwidth limit");
+    }
+
+    /**
+     * Outbound requests limit validator
+     *
+     * @param egressRequestsLimit requests limit per second
+     * @return requests limit validation status
+     */
+    public FormValidation doCheckEgressRequestsLimit(@QueryParameter String egressRequestsLimit) {
+        return checkNotNegative(egressRequestsLimit, "Requests limit");
+    }
+
+    /**
+     * Outbound burst length validator
+     *
+     * @param egressBurst burst length in seconds
+     * @return burst length validation status
+     */
+    public FormValidation doCheckEgressBurst(@QueryParameter String egressBurst) {
+        return checkAtLeast(egressBurst, 1, "Burst length in seconds");
+    }
+
+    /**
+     * Minimal number validator
+     *
+     * @param value field value
+     * @param min   minimal allowed value
+     * @param name  field name used in the error message
+     * @return validation status
+     */
+    private static FormValidation checkAtLeast(String value, int min, String name) {
+        try {
+            if (Integer.parseInt(value) >= min) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException e) {
+            return FormValidation.error(name + " must be a number");
+        }
+        return FormValidation.error(name + " must be at least " + min);
+    }
+
+    /**
+     * Non-negative number validator
+     *
+     * @param value field value
+     * @param name  field name used in the error message
+     * @return validation status
+     */
+    private static FormValidation checkNotNegative(String value, String name) {
+        try {
+            if (Integer.parseInt(value) >= 0) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException e) {
+            return FormValidation.error(name + " must be a number");
+        }
+        return FormValidation.error(name + " must not be negative");
+    }
+
+    /**
+     * Drain timeout validator
+     *
+     * @param drainTimeout drain timeout in seconds
+     * @return drain timeout validation status
+     */
+    public FormValidation doCheckDrainTimeout(@QueryParameter String drainTimeout) {
+        return checkNotNegative(drainTimeout, "Drain timeout");
+    }
+
+    /**
+     * Minimal bulk size validator
+     *
+     * @param batchSizeMin minimal number of log records in one bulk
+     * @return minimal bulk size validation status
+     */
+    public FormValidation doCheckBatchSizeMin(@QueryParameter String batchSizeMin) {
+        return checkPositive(batchSizeMin, "Minimal bulk size");
+    }
+
+    /**
+     * Maximal bulk size validator
+     *
+     * @param batchSizeMin minimal number of log records in one bulk
+     * @param batchSizeMax maximal number of log records in one bulk
+     * @return maximal bulk size validation status
+     */
+    public FormValidation doCheckBatchSizeMax(@QueryParameter String batchSizeMin, @QueryParameter String batchSizeMax) {
+        return checkRange(batchSizeMin, batchSizeMax, "Maximal bulk size");
+    }
+
+    /**
+     * Minimal linger time validator
+     *
+     * @param lingerMin minimal linger time in milliseconds
+     * @return minimal linger time validation status
+     */
+    public FormValidation doCheckLingerMin(@QueryParameter String lingerMin) {
+        return checkPositive(lingerMin, "Minimal linger time");
+    }
+
+    /**
+     * Maximal linger time validator
+     *
+     * @param lingerMin minimal linger time in milliseconds
+     * @param lingerMax maximal linger time in milliseconds
+     * @return maximal linger time validation status
+     */
+    public FormValidation doCheckLingerMax(@QueryParameter String lingerMin, @QueryParameter String lingerMax) {
+        return checkRange(lingerMin, lingerMax, "Maximal linger time");
+    }
+
+    /**
+     * Target latency validator
+     *
+     * @param targetLatency target latency in milliseconds
+     * @return target latency validation status
+     */
+    public FormValidation doCheckTargetLatency(@QueryParameter String targetLatency) {
+        return checkPositive(targetLatency, "Target latency");
+    }
+
+    /**
+     * Positive number validator
+     *
+     * @param value field value
+     * @param name  field name used in the error message
+     * @return validation status
+     */
+    private static FormValidation checkPositive(String value, String name) {
+        try {
+            if (Integer.parseInt(value) >= 1) {
+                return FormValidation.ok();
+            }
+        } catch (NumberFormatException e) {
+            return FormValidation.error(name + " must be a number");
+        }
+        return FormValidation.error(name + " must be positive");
+    }
+
+    /**
+     * Range ceiling validator
+     *
+     * @param floor   range floor field value
+     * @param ceiling range ceiling field value
+     * @param name    ceiling field name used in the error message
+     * @return validation status
+     */
+    private static FormValidation checkRange(String floor, String ceiling, String name) {
+        FormValidation validation = checkPositive(ceiling, name);
+        if (validation.kind != FormValidation.Kind.OK) {
+            return validation;
+        }
+        try {
+            if (Integer.parseInt(ceiling) < Integer.parseInt(floor)) {
+                return FormValidation.error(name + " must not be less than the minimal value");
+            }
+        } catch (NumberFormatException e) {
+            return FormValidation.ok();
+        }
+        return FormValidation.ok();
+    }
+
+    /**
+     * Retries count validator
+     *
+     * @param maxRetries retries of a failed logs bulk request
+     * @return retries count validation status
+     */
+    public FormValidation doCheckMaxRetries(@QueryParameter String maxRetries) {
+        return checkNotNegative(maxRetries, "Retries count");
+    }
 }
\ No newline at end of file
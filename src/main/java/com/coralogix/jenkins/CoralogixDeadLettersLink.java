@@ -0,0 +1,225 @@
+package com.coralogix.jenkins;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.ManagementLink;
+import hudson.security.Permission;
+import jenkins.model.Jenkins;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.coralogix.jenkins.shipper.DeadLetters;
+
+/**
+ * Coralogix dead letters page definition
+ * Lists logs bulks which could not be delivered under Manage Jenkins,
+ * filtered by job, error and failure time, and replays or deletes the selected ones
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Extension
+public class CoralogixDeadLettersLink extends ManagementLink {
+
+    /**
+     * Default number of dead letters replayed at once
+     */
+    private static final int REPLAY_CONCURRENCY = 4;
+
+    /**
+     * Maximum number of dead letters replayed at once
+     */
+    private static final int MAX_REPLAY_CONCURRENCY = 16;
+
+    /**
+     * Link icon
+     *
+     * @return link icon
+     */
+    @Override
+    public String getIconFileName() {
+        return "notepad.png";
+    }
+
+    /**
+     * Link display name
+     *
+     * @return link display name
+     */
+    @Override
+    public String getDisplayName() {
+        return "Coralogix Dead Letters";
+    }
+
+    /**
+     * Link description
+     *
+     * @return link description
+     */
+    @Override
+    public String getDescription() {
+        return "Browse and replay logs bulks which could not be delivered to Coralogix";
+    }
+
+    /**
+     * Link URL
+     *
+     * @return link URL
+     */
+    @Override
+    public String getUrlName() {
+        return "coralogix-dead-letters";
+    }
+
+    /**
+     * Link permission
+     *
+     * @return permission required to see the link
+     */
+    @Override
+    public Permission getRequiredPermission() {
+        return Jenkins.ADMINISTER;
+    }
+
+    /**
+     * Link category
+     *
+     * @return link category
+     */
+    @Override
+    public Category getCategory() {
+        return Category.TROUBLESHOOTING;
+    }
+
+    /**
+     * Find dead letters matching the request filters
+     *
+     * @param req request context with the job, error, from and to parameters
+     * @return matching dead letters, newest first
+     */
+    public List<DeadLetters.Entry> find(StaplerRequest req) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        return DeadLetters.get().find(
+            Util.fixEmpty(req.getParameter("job")),
+            Util.fixEmpty(req.getParameter("error")),
+            time(req.getParameter("from")),
+            time(req.getParameter("to"))
+        );
+    }
+
+    /**
+     * Stored jobs getter
+     *
+     * @return full names of the jobs with dead letters
+     */
+    public List<String> getJobs() {
+        return DeadLetters.get().getJobs();
+    }
+
+    /**
+     * Stored errors getter
+     *
+     * @return names of the errors of the dead letters
+     */
+    public List<String> getErrors() {
+        return DeadLetters.get().getErrors();
+    }
+
+    /**
+     * Dead letters count getter
+     *
+     * @return stored dead letters count
+     */
+    public int getSize() {
+        return DeadLetters.get().size();
+    }
+
+    /**
+     * Store size getter
+     *
+     * @return store size in bytes
+     */
+    public long getBytes() {
+        return DeadLetters.get().getBytes();
+    }
+
+    /**
+     * Check whether the dead letter is being replayed
+     *
+     * @param id dead letter identifier
+     * @return true while the dead letter is being replayed
+     */
+    public boolean isReplaying(String id) {
+        return DeadLetters.get().isReplaying(id);
+    }
+
+    /**
+     * Replay selected dead letters in the background
+     *
+     * @param req request context with the selected identifiers and the concurrency
+     * @return redirect to the dead letters page
+     */
+    @RequirePOST
+    public HttpResponse doReplay(StaplerRequest req) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        int concurrency = REPLAY_CONCURRENCY;
+        try {
+            concurrency = Integer.parseInt(req.getParameter("concurrency"));
+        } catch (NumberFormatException e) {
+            // default concurrency is used
+        }
+        DeadLetters.get().replay(selected(req), Math.max(1, Math.min(MAX_REPLAY_CONCURRENCY, concurrency)));
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * Delete selected dead letters
+     *
+     * @param req request context with the selected identifiers
+     * @return redirect to the dead letters page
+     */
+    @RequirePOST
+    public HttpResponse doDelete(StaplerRequest req) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        DeadLetters.get().delete(selected(req));
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * Selected dead letters identifiers
+     *
+     * @param req request context
+     * @return selected identifiers
+     */
+    private static List<String> selected(StaplerRequest req) {
+        String[] ids = req.getParameterValues("id");
+        return ids != null ? Arrays.asList(ids) : Collections.emptyList();
+    }
+
+    /**
+     * Parse filter time
+     *
+     * @param value local date and time in ISO format or null
+     * @return time in milliseconds, 0 when not set or not valid
+     */
+    private static long time(String value) {
+        if (Util.fixEmpty(value) == null) {
+            return 0;
+        }
+        try {
+            return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -1,17 +1,13 @@
 package com.coralogix.jenkins;
 
-import com.coralogix.jenkins.model.Log;
-import com.coralogix.jenkins.utils.CoralogixAPI;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.LogCoalescer;
+import com.coralogix.jenkins.shipper.ShipperStats;
 import hudson.Extension;
-import hudson.util.Secret;
 import hudson.model.Item;
 import hudson.model.listeners.ItemListener;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 /**
  * Jenkins CRUD events listener definition
  *
@@ -23,9 +19,14 @@ import java.util.logging.Logger;
 public class CoralogixItemListener extends ItemListener {
 
     /**
-     * Events listener logger
+     * Maximum number of items with coalesced audit events
+     */
+    private static final int MAX_COALESCED_ITEMS = 10000;
+
+    /**
+     * Audit events coalescer
      */
-    private static final Logger logger = Logger.getLogger(CoralogixItemListener.class.getName());
+    private static final LogCoalescer coalescer = new LogCoalescer(Lane.AUDIT, MAX_COALESCED_ITEMS);
 
     /**
      * Create event
@@ -34,7 +35,7 @@ public class CoralogixItemListener extends ItemListener {
      */
     @Override
     public void onCreated(Item item) {
-        sendAuditLog(item.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was created", 3);
+        sendAuditLog("created", item.getFullName(), item.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was created", 3);
     }
 
     /**
@@ -44,7 +45,7 @@ public class CoralogixItemListener extends ItemListener {
      */
     @Override
     public void onUpdated(Item item) {
-        sendAuditLog(item.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was updated", 4);
+        sendAuditLog("updated", item.getFullName(), item.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was updated", 4);
     }
 
     /**
@@ -54,7 +55,7 @@ public class CoralogixItemListener extends ItemListener {
      */
     @Override
     public void onCopied(Item src, Item item) {
-        sendAuditLog(src.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was copied to " + item.getFullName(), 3);
+        sendAuditLog("copied", item.getFullName(), src.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was copied to " + item.getFullName(), 3);
     }
 
     /**
@@ -64,7 +65,7 @@ public class CoralogixItemListener extends ItemListener {
      */
     @Override
     public void onDeleted(Item item) {
-        sendAuditLog(item.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was deleted", 6);
+        sendAuditLog("deleted", item.getFullName(), item.getFullName() + " " + item.getClass().getSimpleName().toLowerCase() + " was deleted", 6);
     }
 
     /**
@@ -74,36 +75,34 @@ public class CoralogixItemListener extends ItemListener {
      */
     @Override
     public void onLocationChanged(Item item, String oldFullName, String newFullName) {
-        sendAuditLog(oldFullName + " " + item.getClass().getSimpleName().toLowerCase() + " was moved/renamed to " + newFullName, 4);
+        sendAuditLog("moved", newFullName, oldFullName + " " + item.getClass().getSimpleName().toLowerCase() + " was moved/renamed to " + newFullName, 4);
     }
 
     /**
      * Audit logs sender
+     * Repeated events of the same type for the same item are coalesced
      *
+     * @param event event type
+     * @param itemName item full name
      * @param message event message
      * @param severity event severity
      */
-    static void sendAuditLog(String message, Integer severity) {
-        if (CoralogixConfiguration.get().getAuditLogsEnabled()) {
-            try {
-                List<Log> logEntries = new ArrayList<>();
-                logEntries.add(new Log(
-                    severity,
-                    message,
-                    "audit",
-                    "",
-                    "",
-                    ""
-                ));
-                CoralogixAPI.sendLogs(
-                    Secret.toString(CoralogixConfiguration.get().getPrivateKey()),
-                    CoralogixConfiguration.get().getJenkinsName(),
-                    "audit",
-                    logEntries
-                );
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Cannot send build logs to Coralogix!");
+    static void sendAuditLog(String event, String itemName, String message, Integer severity) {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        if (configuration.getAuditLogsEnabled()) {
+            Destination destination = configuration.getDestination(itemName, "audit");
+            if (destination == null) {
+                ShipperStats.get().recordDrops(1);
+                return;
             }
+            coalescer.offer(
+                event + " " + itemName,
+                configuration.getAuditCoalesceWindowMillis(),
+                destination,
+                severity,
+                message,
+                "audit"
+            );
         }
     }
 }
\ No newline at end of file
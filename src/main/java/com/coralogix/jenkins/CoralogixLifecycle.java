@@ -0,0 +1,68 @@
+package com.coralogix.jenkins;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.coralogix.jenkins.shipper.Dispatcher;
+import com.coralogix.jenkins.shipper.LogShipper;
+
+/**
+ * Logs shipping lifecycle
+ * Queued logs are sent or spilled to disk on shutdown
+ * and the spilled logs are sent on the next startup
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class CoralogixLifecycle {
+
+    /**
+     * Lifecycle logger
+     */
+    private static final Logger logger = Logger.getLogger(CoralogixLifecycle.class.getName());
+
+    /**
+     * Maximum number of spooled logs bulks sent at once on startup
+     */
+    private static final int REPLAY_CONCURRENCY = 4;
+
+    /**
+     * Send spooled logs bulks on startup, before jobs are loaded and new events are produced
+     */
+    @Initializer(after = InitMilestone.PLUGINS_STARTED, before = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void replay() {
+        try {
+            Dispatcher.get().replay(REPLAY_CONCURRENCY, timeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Cannot replay Coralogix spool", e);
+        }
+    }
+
+    /**
+     * Stop intake and drain the queues on shutdown, logs left when the timeout is over are spilled to disk
+     */
+    @Terminator
+    public static void drain() {
+        long deadline = System.currentTimeMillis() + timeout();
+        LogShipper.get().close(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        Dispatcher.get().close(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drain timeout getter
+     *
+     * @return drain timeout in milliseconds
+     */
+    private static long timeout() {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        return configuration != null ? configuration.getDrainTimeoutMillis() : TimeUnit.SECONDS.toMillis(30);
+    }
+}
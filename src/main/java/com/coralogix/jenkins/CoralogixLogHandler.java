@@ -0,0 +1,223 @@
+package com.coralogix.jenkins;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.util.Secret;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.LogShipper;
+import com.coralogix.jenkins.shipper.RingBuffer;
+import com.coralogix.jenkins.shipper.ShipperStats;
+
+/**
+ * Jenkins system logs handler definition
+ * Captures system log records to a preallocated ring buffer which is drained
+ * by the logs shipper, records are dropped when the buffer is full. Records are
+ * converted on the logging thread, the source class and method are inferred from
+ * its stack and the message is formatted before its parameters change, records
+ * which do not fit are dropped without being converted
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class CoralogixLogHandler extends Handler implements LogShipper.Source {
+
+    /**
+     * Ring buffer capacity
+     */
+    private static final int CAPACITY = 4096;
+
+    /**
+     * Loggers which records are never captured, to avoid shipping loops
+     */
+    private static final String[] IGNORED_LOGGERS = {"com.coralogix.jenkins", "org.apache.http"};
+
+    /**
+     * Handler instance
+     */
+    private static final CoralogixLogHandler INSTANCE = new CoralogixLogHandler();
+
+    /**
+     * Captured log records
+     */
+    private final RingBuffer<Log> records = new RingBuffer<>(CAPACITY);
+
+    /**
+     * Dropped log records count
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Log messages formatter
+     */
+    private final SimpleFormatter formatter = new SimpleFormatter();
+
+    /**
+     * Initialize handler
+     */
+    private CoralogixLogHandler() {
+        setLevel(Level.INFO);
+    }
+
+    /**
+     * Install handler on Jenkins startup
+     */
+    @Initializer(after = InitMilestone.PLUGINS_STARTED)
+    public static void init() {
+        update();
+    }
+
+    /**
+     * Install or remove handler according to the global configuration
+     */
+    public static void update() {
+        Logger root = Logger.getLogger("");
+        root.removeHandler(INSTANCE);
+        LogShipper.get().unregister(INSTANCE);
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        if (configuration != null && Boolean.TRUE.equals(configuration.getSystemLogsEnabled())) {
+            LogShipper.get().register(Lane.METRICS, INSTANCE);
+            root.addHandler(INSTANCE);
+        }
+    }
+
+    /**
+     * Capture log record, never blocks
+     * A record which does not fit in the buffer is counted as dropped before it is converted
+     *
+     * @param record log record
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (record == null || !isLoggable(record) || isIgnored(record.getLoggerName())) {
+            return;
+        }
+        if (records.remainingCapacity() == 0 || !records.offer(toLog(record))) {
+            dropped.incrementAndGet();
+            ShipperStats.get().recordDrops(1);
+        }
+    }
+
+    /**
+     * Pass captured log records to the shipper
+     *
+     * @param sink log records consumer
+     */
+    @Override
+    public void drainTo(BiConsumer<Destination, Log> sink) {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        Destination destination = new Destination(
+            Secret.toString(configuration.getPrivateKey()),
+            configuration.getJenkinsName(),
+            "system"
+        );
+        long droppedCount = dropped.getAndSet(0);
+        if (droppedCount > 0) {
+            sink.accept(destination, new Log(
+                4,
+                droppedCount + " system log records were dropped",
+                "system",
+                CoralogixLogHandler.class.getName(),
+                "publish",
+                ""
+            ));
+        }
+        Log log;
+        while ((log = records.poll()) != null) {
+            sink.accept(destination, log);
+        }
+    }
+
+    /**
+     * Nothing to flush, records are drained by the shipper
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Handler is shared and never closed
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Convert system log record to Coralogix log record
+     *
+     * @param record system log record
+     * @return Coralogix log record
+     */
+    private Log toLog(LogRecord record) {
+        String text = formatter.formatMessage(record);
+        if (record.getThrown() != null) {
+            StringWriter trace = new StringWriter();
+            record.getThrown().printStackTrace(new PrintWriter(trace));
+            text = text + "\n" + trace;
+        }
+        return new Log(
+            record.getMillis(),
+            severity(record.getLevel()),
+            text,
+            StringUtils.defaultString(record.getLoggerName()),
+            StringUtils.defaultString(record.getSourceClassName()),
+            StringUtils.defaultString(record.getSourceMethodName()),
+            String.valueOf(record.getThreadID())
+        );
+    }
+
+    /**
+     * Map system log level to Coralogix severity
+     *
+     * @param level system log level
+     * @return Coralogix severity
+     */
+    private static int severity(Level level) {
+        int value = level.intValue();
+        if (value >= Level.SEVERE.intValue()) {
+            return 5;
+        }
+        if (value >= Level.WARNING.intValue()) {
+            return 4;
+        }
+        if (value >= Level.INFO.intValue()) {
+            return 3;
+        }
+        if (value >= Level.CONFIG.intValue()) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Check logger is ignored
+     *
+     * @param loggerName logger name
+     * @return ignore status
+     */
+    private static boolean isIgnored(String loggerName) {
+        if (loggerName == null) {
+            return false;
+        }
+        for (String ignored : IGNORED_LOGGERS) {
+            if (loggerName.startsWith(ignored)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.coralogix.jenkins;
+
+import com.google.gson.Gson;
+import hudson.Extension;
+import hudson.model.Computer;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.PeriodicWork;
+import hudson.model.Queue;
+import hudson.model.labels.LabelAtom;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.coralogix.jenkins.model.ControllerMetrics;
+import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.LogShipper;
+
+/**
+ * Jenkins controller capacity sampler definition
+ * Periodically snapshots queue, executors and agents state
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Extension
+public class CoralogixMetricsSampler extends PeriodicWork {
+
+    /**
+     * Label used for queue items without assigned label
+     */
+    private static final String ANY_LABEL = "<any>";
+
+    /**
+     * Last sample timestamp
+     */
+    private long lastSample;
+
+    /**
+     * Sampler check period, the shortest allowed sampling interval
+     *
+     * @return check period in milliseconds
+     */
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.SECONDS.toMillis(10);
+    }
+
+    /**
+     * Take and send sample when the configured interval has passed
+     */
+    @Override
+    protected void doRun() {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        if (configuration == null || !Boolean.TRUE.equals(configuration.getMetricsEnabled())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastSample < configuration.getMetricsIntervalMillis() - 1000) {
+            return;
+        }
+        lastSample = now;
+        LogShipper.get().offer(
+            Lane.METRICS,
+            new Destination(
+                Secret.toString(configuration.getPrivateKey()),
+                configuration.getJenkinsName(),
+                "metrics"
+            ),
+            new Log(
+                now,
+                3,
+                new Gson().toJson(sample(Jenkins.get(), now)),
+                "metrics",
+                "",
+                "",
+                ""
+            )
+        );
+    }
+
+    /**
+     * Controller capacity snapshot
+     *
+     * @param jenkins Jenkins instance
+     * @param now     sample timestamp
+     * @return controller metrics
+     */
+    static ControllerMetrics sample(Jenkins jenkins, long now) {
+        ControllerMetrics metrics = new ControllerMetrics();
+        for (Queue.Item item : jenkins.getQueue().getApproximateItemsQuickly()) {
+            Label label = item.getAssignedLabel();
+            metrics.addQueueItem(
+                label != null ? label.getExpression() : ANY_LABEL,
+                now - item.getInQueueSince(),
+                item.isBuildable(),
+                item.isBlocked(),
+                // Queue.Item.isStuck() estimates build durations from disk, only the offline label check is kept
+                item.isBuildable() && label != null && label.isOffline()
+            );
+        }
+        for (Computer computer : jenkins.getComputers()) {
+            Node node = computer.getNode();
+            if (node == null) {
+                continue;
+            }
+            if (computer.isOffline()) {
+                metrics.addOfflineAgent(node.getNodeName());
+                continue;
+            }
+            List<String> labels = new ArrayList<>();
+            LabelAtom selfLabel = node.getSelfLabel();
+            for (LabelAtom label : node.getAssignedLabels()) {
+                if (!label.equals(selfLabel)) {
+                    labels.add(label.getName());
+                }
+            }
+            metrics.addExecutors(labels, computer.countBusy(), computer.countExecutors());
+        }
+        return metrics;
+    }
+}
\ No newline at end of file
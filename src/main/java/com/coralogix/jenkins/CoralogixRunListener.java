@@ -0,0 +1,161 @@
+package com.coralogix.jenkins;
+
+import com.google.gson.Gson;
+import hudson.Extension;
+import hudson.model.Cause;
+import hudson.model.Computer;
+import hudson.model.Executor;
+import hudson.model.OneOffExecutor;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+import com.coralogix.jenkins.model.BuildEvent;
+import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.pipeline.PipelineStages;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.LogShipper;
+import com.coralogix.jenkins.shipper.ShipperStats;
+
+/**
+ * Jenkins build lifecycle listener definition
+ * Sends one structured event when a build starts and one when it completes
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Extension
+public class CoralogixRunListener extends RunListener<Run<?, ?>> {
+
+    /**
+     * Listener logger
+     */
+    private static final Logger logger = Logger.getLogger(CoralogixRunListener.class.getName());
+
+    /**
+     * Completion events executor, pipeline stages are collected off the build completion thread
+     */
+    private static final ExecutorService completions = Executors.newSingleThreadExecutor(
+        new NamingThreadFactory(new DaemonThreadFactory(), "CoralogixBuildEvents")
+    );
+
+    /**
+     * Build start event
+     *
+     * @param run      build context
+     * @param listener build listener context
+     */
+    @Override
+    public void onStarted(Run<?, ?> run, TaskListener listener) {
+        if (isEnabled()) {
+            sendBuildEvent(run, createEvent(run, "started"), 3);
+        }
+    }
+
+    /**
+     * Build completion event
+     * Pipeline stages walk the whole flow graph, so they are collected
+     * and the event is sent in the background
+     *
+     * @param run      build context
+     * @param listener build listener context
+     */
+    @Override
+    public void onCompleted(Run<?, ?> run, @Nonnull TaskListener listener) {
+        if (isEnabled()) {
+            BuildEvent event = createEvent(run, "completed");
+            Result result = run.getResult();
+            event.setDurationMillis(run.getDuration());
+            event.setResult(String.valueOf(result));
+            int severity;
+            if (result != null && result.isWorseOrEqualTo(Result.FAILURE)) {
+                severity = 5;
+            } else if (result != null && result.isWorseOrEqualTo(Result.UNSTABLE)) {
+                severity = 4;
+            } else {
+                severity = 3;
+            }
+            completions.execute(() -> {
+                try {
+                    event.setStages(PipelineStages.collect(run));
+                } catch (RuntimeException e) {
+                    logger.log(Level.FINE, "Cannot collect pipeline stages of " + run.getExternalizableId(), e);
+                }
+                sendBuildEvent(run, event, severity);
+            });
+        }
+    }
+
+    /**
+     * Build events sending status
+     *
+     * @return build events sending status
+     */
+    private static boolean isEnabled() {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        return configuration != null && Boolean.TRUE.equals(configuration.getBuildEventsEnabled());
+    }
+
+    /**
+     * Build event builder
+     * Pipeline builds run on a flyweight executor of the built-in node while their
+     * steps run on the nodes of their node blocks, so their node, executor and
+     * queue wait are left unset
+     *
+     * @param run   build context
+     * @param event event type
+     * @return build event
+     */
+    private static BuildEvent createEvent(Run<?, ?> run, String event) {
+        BuildEvent buildEvent = new BuildEvent(event, run.getParent().getFullName(), run.getNumber());
+        buildEvent.setCauses(run.getCauses().stream().map(Cause::getShortDescription).collect(Collectors.toList()));
+        Executor executor = run.getExecutor();
+        if (executor != null && !(executor instanceof OneOffExecutor)) {
+            buildEvent.setQueueWaitMillis(executor.getTimeSpentInQueue());
+            buildEvent.setExecutor(executor.getNumber());
+            Computer computer = executor.getOwner();
+            buildEvent.setNode(StringUtils.defaultIfEmpty(computer.getName(), "built-in"));
+        }
+        return buildEvent;
+    }
+
+    /**
+     * Build events sender
+     *
+     * @param run      build context
+     * @param event    build event
+     * @param severity event severity
+     */
+    static void sendBuildEvent(Run<?, ?> run, BuildEvent event, int severity) {
+        Destination destination = CoralogixConfiguration.get().getDestination(run.getParent().getFullName(), "build");
+        if (destination == null) {
+            ShipperStats.get().recordDrops(1);
+            return;
+        }
+        LogShipper.get().offer(
+            Lane.METRICS,
+            destination,
+            new Log(
+                severity,
+                new Gson().toJson(event),
+                "build",
+                run.getParent().getFullName(),
+                "",
+                run.getDisplayName()
+            )
+        );
+    }
+}
\ No newline at end of file
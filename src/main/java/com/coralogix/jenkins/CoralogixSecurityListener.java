@@ -4,15 +4,23 @@ import hudson.Extension;
 import hudson.util.Secret;
 import jenkins.security.SecurityListener;
 import org.acegisecurity.userdetails.UserDetails;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
 
-import java.util.List;
-import java.util.ArrayList;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 import com.coralogix.jenkins.model.Log;
-import com.coralogix.jenkins.utils.CoralogixAPI;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.HeavyHitters;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.LogShipper;
 
 /**
  * Jenkins security events listener definition
@@ -25,9 +33,9 @@ import com.coralogix.jenkins.utils.CoralogixAPI;
 public class CoralogixSecurityListener extends SecurityListener {
 
     /**
-     * Events listener logger
+     * Authentication failures aggregator
      */
-    private static final Logger logger = Logger.getLogger(CoralogixSecurityListener.class.getName());
+    private static final AuthenticationFailures failures = new AuthenticationFailures();
 
     /**
      * Login event
@@ -46,7 +54,13 @@ public class CoralogixSecurityListener extends SecurityListener {
      */
     @Override
     protected void failedToAuthenticate(@Nonnull String username) {
-        this.sendSecurityLog(username + " failed to login");
+        if (CoralogixConfiguration.get().getSecurityLogsEnabled()) {
+            StaplerRequest request = Stapler.getCurrentRequest();
+            String source = request != null ? request.getRemoteAddr() : "unknown";
+            if (failures.add(username + " from " + source)) {
+                this.sendSecurityLog(username + " failed to login");
+            }
+        }
     }
 
     /**
@@ -84,24 +98,188 @@ public class CoralogixSecurityListener extends SecurityListener {
      */
     static void sendSecurityLog(String message) {
         if (CoralogixConfiguration.get().getSecurityLogsEnabled()) {
-            try {
-                List<Log> logEntries = new ArrayList<>();
-                logEntries.add(new Log(
+            LogShipper.get().offer(
+                Lane.SECURITY,
+                new Destination(
+                    Secret.toString(CoralogixConfiguration.get().getPrivateKey()),
+                    CoralogixConfiguration.get().getJenkinsName(),
+                    "security"
+                ),
+                new Log(
                     3,
                     message,
                     "security",
                     "",
                     "",
                     ""
-                ));
-                CoralogixAPI.sendLogs(
-                    Secret.toString(CoralogixConfiguration.get().getPrivateKey()),
-                    CoralogixConfiguration.get().getJenkinsName(),
-                    "security",
-                    logEntries
+                )
+            );
+        }
+    }
+
+    /**
+     * Authentication failures aggregator
+     * Counts failures per username and source in fixed windows, the first failure
+     * of every username and source is sent at once and the rest are sent
+     * as a single summary when the window is over. First failures are tracked
+     * exactly up to the number sent at once, the sketch only estimates the top counts
+     */
+    static class AuthenticationFailures implements LogShipper.Source {
+
+        /**
+         * Aggregation window in milliseconds
+         */
+        private static final long WINDOW = TimeUnit.MINUTES.toMillis(1);
+
+        /**
+         * Maximum number of failures sent at once in a window
+         */
+        private static final int MAX_IMMEDIATE = 100;
+
+        /**
+         * Number of usernames and sources listed in the summary
+         */
+        private static final int TOP = 10;
+
+        /**
+         * Current window
+         */
+        private volatile Window current = new Window(System.currentTimeMillis());
+
+        /**
+         * Finished window, summarized on the next drain so late failures are counted
+         */
+        private Window finished;
+
+        /**
+         * Initialize aggregator and register it in the logs shipper
+         */
+        AuthenticationFailures() {
+            LogShipper.get().register(Lane.SECURITY, this);
+        }
+
+        /**
+         * Count authentication failure
+         *
+         * @param key username and source
+         * @return true when the failure has to be sent at once
+         */
+        boolean add(String key) {
+            Window window = current;
+            window.total.increment();
+            window.hitters.add(key);
+            if (window.first(key)) {
+                return true;
+            }
+            window.suppressed.increment();
+            return false;
+        }
+
+        /**
+         * Send summary of the finished window and start a new window when the current one is over
+         *
+         * @param sink log records consumer
+         */
+        @Override
+        public void drainTo(BiConsumer<Destination, Log> sink) {
+            long now = System.currentTimeMillis();
+            if (finished != null && finished.suppressed.sum() > 0) {
+                CoralogixConfiguration configuration = CoralogixConfiguration.get();
+                sink.accept(
+                    new Destination(
+                        Secret.toString(configuration.getPrivateKey()),
+                        configuration.getJenkinsName(),
+                        "security"
+                    ),
+                    new Log(now, 4, finished.summary(now), "security", "", "", "")
                 );
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Cannot send build logs to Coralogix!");
+            }
+            finished = null;
+            if (now - current.start >= WINDOW) {
+                finished = current;
+                current = new Window(now);
+            }
+        }
+
+        /**
+         * Send summaries of the finished and the current windows
+         *
+         * @param sink log records consumer
+         */
+        @Override
+        public void drainAll(BiConsumer<Destination, Log> sink) {
+            drainTo(sink);
+            if (finished == null) {
+                finished = current;
+                current = new Window(System.currentTimeMillis());
+            }
+            drainTo(sink);
+        }
+
+        /**
+         * Aggregation window
+         */
+        private static class Window {
+
+            /**
+             * Window start timestamp
+             */
+            private final long start;
+
+            /**
+             * Failures in the window
+             */
+            private final LongAdder total = new LongAdder();
+
+            /**
+             * Failures not sent at once
+             */
+            private final LongAdder suppressed = new LongAdder();
+
+            /**
+             * Usernames and sources which failures were sent at once, guarded by itself
+             */
+            private final Set<String> immediate = new HashSet<>();
+
+            /**
+             * Failures per username and source
+             */
+            private final HeavyHitters hitters = new HeavyHitters(TOP);
+
+            /**
+             * Initialize window
+             *
+             * @param start window start timestamp
+             */
+            Window(long start) {
+                this.start = start;
+            }
+
+            /**
+             * Record first failure of the username and source while failures are sent at once
+             *
+             * @param key username and source
+             * @return true when the failure has to be sent at once
+             */
+            boolean first(String key) {
+                synchronized (immediate) {
+                    return immediate.size() < MAX_IMMEDIATE && immediate.add(key);
+                }
+            }
+
+            /**
+             * Window summary
+             *
+             * @param now summary timestamp
+             * @return summary message
+             */
+            String summary(long now) {
+                StringJoiner top = new StringJoiner(", ");
+                for (Map.Entry<String, Long> entry : hitters.getTop()) {
+                    top.add(entry.getKey() + " (" + entry.getValue() + ")");
+                }
+                return total.sum() + " failed logins in the last " + TimeUnit.MILLISECONDS.toSeconds(now - start) + "s, "
+                    + suppressed.sum() + " not sent separately, top: " + top;
             }
         }
     }
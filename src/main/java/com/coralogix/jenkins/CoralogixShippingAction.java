@@ -0,0 +1,282 @@
+package com.coralogix.jenkins;
+
+import hudson.model.Action;
+
+import java.util.concurrent.TimeUnit;
+
+import com.coralogix.jenkins.shipper.Histogram;
+
+/**
+ * Build logs shipping report definition
+ * Collected while build logs are sent and shown on the build page
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class CoralogixShippingAction implements Action {
+
+    /**
+     * Delivery status
+     */
+    public enum Status {
+        IN_PROGRESS,
+        DELIVERED,
+        FAILED
+    }
+
+    /**
+     * Log lines read
+     */
+    private long lines;
+
+    /**
+     * Log bytes read
+     */
+    private long bytesRead;
+
+    /**
+     * Request bodies bytes sent
+     */
+    private long bytesSent;
+
+    /**
+     * Requests sent
+     */
+    private int batches;
+
+    /**
+     * Failed requests
+     */
+    private int failures;
+
+    /**
+     * Retried requests
+     */
+    private int retries;
+
+    /**
+     * Dropped log records
+     */
+    private long drops;
+
+    /**
+     * Median request latency in milliseconds
+     */
+    private double latencyP50;
+
+    /**
+     * 99th percentile request latency in milliseconds
+     */
+    private double latencyP99;
+
+    /**
+     * Delivery status
+     */
+    private Status status = Status.IN_PROGRESS;
+
+    /**
+     * Delivery failure reason
+     */
+    private String error;
+
+    /**
+     * Requests latency in microseconds, kept only while the build is loaded
+     */
+    private transient Histogram latency;
+
+    /**
+     * Action icon, the report is shown as a build summary
+     *
+     * @return action icon
+     */
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    /**
+     * Action display name
+     *
+     * @return action display name
+     */
+    @Override
+    public String getDisplayName() {
+        return "Coralogix";
+    }
+
+    /**
+     * Action URL
+     *
+     * @return action URL
+     */
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+    /**
+     * Start new shipment
+     */
+    public synchronized void start() {
+        status = Status.IN_PROGRESS;
+        error = null;
+    }
+
+    /**
+     * Record log read
+     *
+     * @param lines log lines read
+     * @param bytes log bytes read
+     */
+    public synchronized void recordRead(long lines, long bytes) {
+        this.lines += lines;
+        this.bytesRead += bytes;
+    }
+
+    /**
+     * Record request
+     *
+     * @param bytes   request body bytes
+     * @param nanos   request time in nanoseconds
+     * @param success request status
+     */
+    public synchronized void recordRequest(long bytes, long nanos, boolean success) {
+        batches++;
+        if (!success) {
+            failures++;
+        }
+        bytesSent += Math.max(0, bytes);
+        if (latency == null) {
+            latency = new Histogram();
+        }
+        latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        latencyP50 = latency.getValueAtPercentile(50) / 1000.0;
+        latencyP99 = latency.getValueAtPercentile(99) / 1000.0;
+    }
+
+    /**
+     * Record retried request
+     */
+    public synchronized void recordRetry() {
+        retries++;
+    }
+
+    /**
+     * Record dropped log records
+     *
+     * @param count dropped log records
+     */
+    public synchronized void recordDrops(long count) {
+        drops += count;
+    }
+
+    /**
+     * Finish shipment
+     *
+     * @param error failure reason or null when all logs were delivered
+     */
+    public synchronized void finish(String error) {
+        this.status = error == null ? Status.DELIVERED : Status.FAILED;
+        this.error = error;
+    }
+
+    /**
+     * Log lines getter
+     *
+     * @return log lines read
+     */
+    public synchronized long getLines() {
+        return lines;
+    }
+
+    /**
+     * Log bytes getter
+     *
+     * @return log bytes read
+     */
+    public synchronized long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Sent bytes getter
+     *
+     * @return request bodies bytes sent
+     */
+    public synchronized long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Requests count getter
+     *
+     * @return requests sent
+     */
+    public synchronized int getBatches() {
+        return batches;
+    }
+
+    /**
+     * Failed requests count getter
+     *
+     * @return failed requests
+     */
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Retried requests count getter
+     *
+     * @return retried requests
+     */
+    public synchronized int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Dropped log records count getter
+     *
+     * @return dropped log records
+     */
+    public synchronized long getDrops() {
+        return drops;
+    }
+
+    /**
+     * Median latency getter
+     *
+     * @return median request latency in milliseconds
+     */
+    public synchronized double getLatencyP50() {
+        return latencyP50;
+    }
+
+    /**
+     * 99th percentile latency getter
+     *
+     * @return 99th percentile request latency in milliseconds
+     */
+    public synchronized double getLatencyP99() {
+        return latencyP99;
+    }
+
+    /**
+     * Delivery status getter
+     *
+     * @return delivery status
+     */
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Delivery failure reason getter
+     *
+     * @return delivery failure reason or null
+     */
+    public synchronized String getError() {
+        return error;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.coralogix.jenkins;
+
+import com.google.gson.GsonBuilder;
+import hudson.Extension;
+import hudson.model.RootAction;
+import jenkins.model.Jenkins;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.verb.GET;
+
+import java.io.IOException;
+
+import com.coralogix.jenkins.shipper.ShipperStats;
+
+/**
+ * Coralogix shipping statistics endpoint definition
+ * Serves statistics as JSON on /coralogix/stats for administrators
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Extension
+public class CoralogixStatsAction implements RootAction {
+
+    /**
+     * Action icon, hidden from the side panel
+     *
+     * @return action icon
+     */
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    /**
+     * Action display name
+     *
+     * @return action display name
+     */
+    @Override
+    public String getDisplayName() {
+        return "Coralogix";
+    }
+
+    /**
+     * Action URL
+     *
+     * @return action URL
+     */
+    @Override
+    public String getUrlName() {
+        return "coralogix";
+    }
+
+    /**
+     * Serve shipping statistics
+     *
+     * @param rsp response context
+     * @throws IOException
+     */
+    @GET
+    public void doStats(StaplerResponse rsp) throws IOException {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        rsp.setContentType("application/json;charset=UTF-8");
+        rsp.getWriter().write(new GsonBuilder().setPrettyPrinting().create().toJson(ShipperStats.get().snapshot()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.coralogix.jenkins;
+
+import hudson.model.InvisibleAction;
+
+/**
+ * Build logs upload checkpoint definition
+ * Stored in the build whenever the batches up to a log file offset are
+ * all acknowledged, so an interrupted upload continues where it stopped
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class CoralogixUploadCheckpoint extends InvisibleAction {
+
+    /**
+     * Upload identifier
+     */
+    private final String id;
+
+    /**
+     * Log file offset right after the acknowledged batches
+     */
+    private long offset;
+
+    /**
+     * Sequence number of the first log line not acknowledged yet
+     */
+    private long sequence;
+
+    /**
+     * Initialize upload checkpoint
+     *
+     * @param id upload identifier
+     */
+    public CoralogixUploadCheckpoint(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Upload identifier getter
+     *
+     * @return upload identifier
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Log file offset getter
+     *
+     * @return log file offset right after the acknowledged batches
+     */
+    public synchronized long getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Log line sequence getter
+     *
+     * @return sequence number of the first log line not acknowledged yet
+     */
+    public synchronized long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Record acknowledged batches
+     *
+     * @param offset   log file offset right after the acknowledged batches
+     * @param sequence sequence number of the first log line after the acknowledged batches
+     */
+    public synchronized void acknowledge(long offset, long sequence) {
+        this.offset = offset;
+        this.sequence = sequence;
+    }
+}
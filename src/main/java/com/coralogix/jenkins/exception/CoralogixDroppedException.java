@@ -0,0 +1,32 @@
+package com.coralogix.jenkins.exception;
+
+/**
+ * Coralogix dropped log records exception
+ * Thrown when log records are discarded by the lane backpressure policy
+ * or cannot be kept after a failed delivery
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class CoralogixDroppedException extends CoralogixPluginException {
+
+    /**
+     * Exception method
+     *
+     * @param message exception message
+     */
+    public CoralogixDroppedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Exception method
+     *
+     * @param message exception message
+     * @param cause   exception metadata
+     */
+    public CoralogixDroppedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
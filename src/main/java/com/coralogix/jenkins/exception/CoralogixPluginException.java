@@ -9,13 +9,29 @@ package com.coralogix.jenkins.exception;
  */
 public class CoralogixPluginException extends RuntimeException {
 
+    /**
+     * HTTP status of the failed request, 0 when not caused by a response
+     */
+    private final int status;
+
     /**
      * Exception method
      *
      * @param message exception message
      */
     public CoralogixPluginException(String message) {
+        this(message, 0);
+    }
+
+    /**
+     * Exception method
+     *
+     * @param message exception message
+     * @param status  HTTP status of the failed request
+     */
+    public CoralogixPluginException(String message, int status) {
         super(message);
+        this.status = status;
     }
 
     /**
@@ -26,5 +42,15 @@ public class CoralogixPluginException extends RuntimeException {
      */
     public CoralogixPluginException(String message, Throwable cause) {
         super(message, cause);
+        this.status = 0;
+    }
+
+    /**
+     * HTTP status getter
+     *
+     * @return HTTP status of the failed request, 0 when not caused by a response
+     */
+    public int getStatus() {
+        return status;
     }
 }
\ No newline at end of file
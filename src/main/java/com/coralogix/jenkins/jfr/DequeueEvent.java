@@ -0,0 +1,42 @@
+package com.coralogix.jenkins.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Logs queue drain flight recorder event
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Name("com.coralogix.jenkins.Dequeue")
+@Label("Coralogix Dequeue")
+@Category("Coralogix")
+@Description("Logs queue drain by the shipper with the longest time a record waited in the queue")
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+public class DequeueEvent extends jdk.jfr.Event {
+
+    /**
+     * Drained lane
+     */
+    @Label("Lane")
+    public String lane;
+
+    /**
+     * Log records taken from the queue
+     */
+    @Label("Bulk Size")
+    public int bulkSize;
+
+    /**
+     * Longest time a log record waited in the queue
+     */
+    @Label("Max Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long maxWait;
+}
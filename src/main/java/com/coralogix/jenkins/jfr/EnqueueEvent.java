@@ -0,0 +1,60 @@
+package com.coralogix.jenkins.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Request enqueue flight recorder event
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Name("com.coralogix.jenkins.Enqueue")
+@Label("Coralogix Enqueue")
+@Category("Coralogix")
+@Description("Request passed to the dispatcher, the duration includes the time it waited for free lane memory")
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+public class EnqueueEvent extends jdk.jfr.Event {
+
+    /**
+     * Request lane
+     */
+    @Label("Lane")
+    public String lane;
+
+    /**
+     * Lane backpressure policy
+     */
+    @Label("Policy")
+    public String policy;
+
+    /**
+     * Log records in the request
+     */
+    @Label("Bulk Size")
+    public int bulkSize;
+
+    /**
+     * Request memory size
+     */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Whether the request waited for free lane memory
+     */
+    @Label("Blocked")
+    public boolean blocked;
+
+    /**
+     * What happened with the request: queued, spilled or dropped
+     */
+    @Label("Outcome")
+    public String outcome;
+}
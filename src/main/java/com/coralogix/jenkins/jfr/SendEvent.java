@@ -0,0 +1,54 @@
+package com.coralogix.jenkins.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Coralogix HTTP request flight recorder event
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Name("com.coralogix.jenkins.Send")
+@Label("Coralogix Send")
+@Category("Coralogix")
+@Description("HTTP request to Coralogix including response status check")
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+public class SendEvent extends jdk.jfr.Event {
+
+    /**
+     * Endpoint name
+     */
+    @Label("Endpoint")
+    public String endpoint;
+
+    /**
+     * Job full name
+     */
+    @Label("Job")
+    public String job;
+
+    /**
+     * Log records in the request
+     */
+    @Label("Bulk Size")
+    public int bulkSize;
+
+    /**
+     * Request body size
+     */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Response status, 0 when no response was received
+     */
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,42 @@
+package com.coralogix.jenkins.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Logs bulk serialization flight recorder event
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Name("com.coralogix.jenkins.Serialize")
+@Label("Coralogix Serialize")
+@Category("Coralogix")
+@Description("Logs bulk serialization to JSON")
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+public class SerializeEvent extends jdk.jfr.Event {
+
+    /**
+     * Job full name
+     */
+    @Label("Job")
+    public String job;
+
+    /**
+     * Log records in the bulk
+     */
+    @Label("Bulk Size")
+    public int bulkSize;
+
+    /**
+     * Serialized bulk size
+     */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
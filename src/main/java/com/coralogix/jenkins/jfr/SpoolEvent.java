@@ -0,0 +1,48 @@
+package com.coralogix.jenkins.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Logs bulk spool write flight recorder event
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@Name("com.coralogix.jenkins.SpoolWrite")
+@Label("Coralogix Spool Write")
+@Category("Coralogix")
+@Description("Logs bulk written to the disk spool")
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+public class SpoolEvent extends jdk.jfr.Event {
+
+    /**
+     * Spool lane
+     */
+    @Label("Lane")
+    public String lane;
+
+    /**
+     * Job full name
+     */
+    @Label("Job")
+    public String job;
+
+    /**
+     * Log records in the bulk
+     */
+    @Label("Bulk Size")
+    public int bulkSize;
+
+    /**
+     * Written bytes
+     */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
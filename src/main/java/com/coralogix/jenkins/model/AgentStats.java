@@ -0,0 +1,132 @@
+package com.coralogix.jenkins.model;
+
+import java.io.Serializable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Jenkins agent resources metrics definition
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class AgentStats implements Serializable {
+
+    /**
+     * Serial UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Agent name
+     */
+    private String agent;
+
+    /**
+     * System load average for the last minute
+     */
+    private Double loadAverage;
+
+    /**
+     * System CPU load in percents
+     */
+    private Double systemCpuLoad;
+
+    /**
+     * Agent process CPU load in percents
+     */
+    private Double processCpuLoad;
+
+    /**
+     * Used heap in bytes
+     */
+    private long heapUsed;
+
+    /**
+     * Maximal heap in bytes
+     */
+    private long heapMax;
+
+    /**
+     * Agent process resident memory in bytes
+     */
+    private Long residentMemory;
+
+    /**
+     * Free space in the workspace root in bytes
+     */
+    private Long workspaceFreeSpace;
+
+    /**
+     * CPU time spent waiting for I/O in percents
+     */
+    private Double ioWait;
+
+    /**
+     * Agent name setter
+     *
+     * @param agent agent name
+     */
+    public void setAgent(String agent) {
+        this.agent = agent;
+    }
+
+    /**
+     * System load average setter
+     *
+     * @param loadAverage system load average for the last minute
+     */
+    public void setLoadAverage(Double loadAverage) {
+        this.loadAverage = loadAverage;
+    }
+
+    /**
+     * CPU load setter
+     *
+     * @param systemCpuLoad  system CPU load in percents
+     * @param processCpuLoad agent process CPU load in percents
+     */
+    public void setCpuLoad(Double systemCpuLoad, Double processCpuLoad) {
+        this.systemCpuLoad = systemCpuLoad;
+        this.processCpuLoad = processCpuLoad;
+    }
+
+    /**
+     * Heap usage setter
+     *
+     * @param heapUsed used heap in bytes
+     * @param heapMax  maximal heap in bytes
+     */
+    public void setHeap(long heapUsed, long heapMax) {
+        this.heapUsed = heapUsed;
+        this.heapMax = heapMax;
+    }
+
+    /**
+     * Resident memory setter
+     *
+     * @param residentMemory agent process resident memory in bytes
+     */
+    public void setResidentMemory(Long residentMemory) {
+        this.residentMemory = residentMemory;
+    }
+
+    /**
+     * Workspace free space setter
+     *
+     * @param workspaceFreeSpace free space in the workspace root in bytes
+     */
+    public void setWorkspaceFreeSpace(Long workspaceFreeSpace) {
+        this.workspaceFreeSpace = workspaceFreeSpace;
+    }
+
+    /**
+     * I/O wait setter
+     *
+     * @param ioWait CPU time spent waiting for I/O in percents
+     */
+    public void setIoWait(Double ioWait) {
+        this.ioWait = ioWait;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.coralogix.jenkins.model;
+
+import java.util.List;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Build lifecycle event definition
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class BuildEvent {
+
+    /**
+     * Event type
+     */
+    private String event;
+
+    /**
+     * Job full name
+     */
+    private String job;
+
+    /**
+     * Build number
+     */
+    private int number;
+
+    /**
+     * Time spent in queue in milliseconds
+     */
+    private Long queueWaitMillis;
+
+    /**
+     * Build duration in milliseconds
+     */
+    private Long durationMillis;
+
+    /**
+     * Build result
+     */
+    private String result;
+
+    /**
+     * Node name
+     */
+    private String node;
+
+    /**
+     * Executor number
+     */
+    private Integer executor;
+
+    /**
+     * Build causes
+     */
+    private List<String> causes;
+
+    /**
+     * Pipeline stages
+     */
+    private List<Stage> stages;
+
+    /**
+     * Initialize build event
+     *
+     * @param event  event type
+     * @param job    job full name
+     * @param number build number
+     */
+    public BuildEvent(String event, String job, int number) {
+        this.event = event;
+        this.job = job;
+        this.number = number;
+    }
+
+    /**
+     * Time spent in queue setter
+     *
+     * @param queueWaitMillis time spent in queue in milliseconds
+     */
+    public void setQueueWaitMillis(Long queueWaitMillis) {
+        this.queueWaitMillis = queueWaitMillis;
+    }
+
+    /**
+     * Build duration setter
+     *
+     * @param durationMillis build duration in milliseconds
+     */
+    public void setDurationMillis(Long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Build result setter
+     *
+     * @param result build result
+     */
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    /**
+     * Node name setter
+     *
+     * @param node node name
+     */
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    /**
+     * Executor number setter
+     *
+     * @param executor executor number
+     */
+    public void setExecutor(Integer executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Build causes setter
+     *
+     * @param causes build causes
+     */
+    public void setCauses(List<String> causes) {
+        this.causes = causes;
+    }
+
+    /**
+     * Pipeline stages setter
+     *
+     * @param stages pipeline stages
+     */
+    public void setStages(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Pipeline stage definition
+     */
+    @SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+    public static class Stage {
+
+        /**
+         * Stage name
+         */
+        private String name;
+
+        /**
+         * Stage status
+         */
+        private String status;
+
+        /**
+         * Stage duration in milliseconds
+         */
+        private long durationMillis;
+
+        /**
+         * Initialize pipeline stage
+         *
+         * @param name           stage name
+         * @param status         stage status
+         * @param durationMillis stage duration in milliseconds
+         */
+        public Stage(String name, String status, long durationMillis) {
+            this.name = name;
+            this.status = status;
+            this.durationMillis = durationMillis;
+        }
+    }
+}
\ No newline at end of file
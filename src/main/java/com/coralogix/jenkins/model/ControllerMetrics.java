@@ -0,0 +1,168 @@
+package com.coralogix.jenkins.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Jenkins controller capacity metrics definition
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class ControllerMetrics {
+
+    /**
+     * Queue waiting time buckets upper bounds in milliseconds
+     */
+    private static final long[] WAIT_BOUNDS = {10_000L, 60_000L, 300_000L, 900_000L};
+
+    /**
+     * Queue waiting time buckets names
+     */
+    private static final String[] WAIT_BUCKETS = {"10s", "1m", "5m", "15m", "inf"};
+
+    /**
+     * Queue length
+     */
+    private int queueLength;
+
+    /**
+     * Buildable queue items count
+     */
+    private int buildable;
+
+    /**
+     * Blocked queue items count
+     */
+    private int blocked;
+
+    /**
+     * Stuck queue items count
+     */
+    private int stuck;
+
+    /**
+     * Busy executors count
+     */
+    private int busyExecutors;
+
+    /**
+     * Idle executors count
+     */
+    private int idleExecutors;
+
+    /**
+     * Online agents count
+     */
+    private int onlineAgents;
+
+    /**
+     * Offline agents names
+     */
+    private List<String> offlineAgents = new ArrayList<>();
+
+    /**
+     * Queue items by label
+     */
+    private Map<String, LabelQueue> queue = new TreeMap<>();
+
+    /**
+     * Executors by label
+     */
+    private Map<String, LabelExecutors> executors = new TreeMap<>();
+
+    /**
+     * Add queue item
+     *
+     * @param label       assigned label expression
+     * @param waitMillis  time spent in queue in milliseconds
+     * @param isBuildable item is waiting for an executor
+     * @param isBlocked   item is blocked
+     * @param isStuck     item has no executor to run on
+     */
+    public void addQueueItem(String label, long waitMillis, boolean isBuildable, boolean isBlocked, boolean isStuck) {
+        this.queueLength++;
+        this.buildable += isBuildable ? 1 : 0;
+        this.blocked += isBlocked ? 1 : 0;
+        this.stuck += isStuck ? 1 : 0;
+        LabelQueue labelQueue = this.queue.computeIfAbsent(label, key -> new LabelQueue());
+        labelQueue.items++;
+        labelQueue.maxWaitMillis = Math.max(labelQueue.maxWaitMillis, waitMillis);
+        int bucket = 0;
+        while (bucket < WAIT_BOUNDS.length && waitMillis >= WAIT_BOUNDS[bucket]) {
+            bucket++;
+        }
+        labelQueue.waiting.merge(WAIT_BUCKETS[bucket], 1, Integer::sum);
+    }
+
+    /**
+     * Add online computer executors
+     *
+     * @param labels computer labels
+     * @param busy   busy executors count
+     * @param total  executors count
+     */
+    public void addExecutors(Iterable<String> labels, int busy, int total) {
+        this.onlineAgents++;
+        this.busyExecutors += busy;
+        this.idleExecutors += total - busy;
+        for (String label : labels) {
+            LabelExecutors labelExecutors = this.executors.computeIfAbsent(label, key -> new LabelExecutors());
+            labelExecutors.busy += busy;
+            labelExecutors.idle += total - busy;
+        }
+    }
+
+    /**
+     * Add offline agent
+     *
+     * @param name agent name
+     */
+    public void addOfflineAgent(String name) {
+        this.offlineAgents.add(name);
+    }
+
+    /**
+     * Label queue metrics
+     */
+    @SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+    public static class LabelQueue {
+
+        /**
+         * Queue items count
+         */
+        private int items;
+
+        /**
+         * Maximal waiting time in milliseconds
+         */
+        private long maxWaitMillis;
+
+        /**
+         * Queue items count by waiting time bucket
+         */
+        private Map<String, Integer> waiting = new TreeMap<>();
+    }
+
+    /**
+     * Label executors metrics
+     */
+    @SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+    public static class LabelExecutors {
+
+        /**
+         * Busy executors count
+         */
+        private int busy;
+
+        /**
+         * Idle executors count
+         */
+        private int idle;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.coralogix.jenkins.model;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import com.coralogix.jenkins.shipper.Backpressure;
+import com.coralogix.jenkins.shipper.Lane;
+
+/**
+ * Outbound lane backpressure policy definition
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class LanePolicy extends AbstractDescribableImpl<LanePolicy> {
+
+    /**
+     * Lane
+     */
+    private final Lane lane;
+
+    /**
+     * Backpressure policy
+     */
+    private final Backpressure policy;
+
+    /**
+     * Queued requests memory limit in megabytes
+     */
+    private final int memoryLimit;
+
+    /**
+     * Maximum time to wait for free space in seconds
+     */
+    private final int blockTimeout;
+
+    /**
+     * Initialize lane policy
+     *
+     * @param lane         lane
+     * @param policy       backpressure policy
+     * @param memoryLimit  queued requests memory limit in megabytes
+     * @param blockTimeout maximum time to wait for free space in seconds
+     */
+    @DataBoundConstructor
+    public LanePolicy(Lane lane, Backpressure policy, int memoryLimit, int blockTimeout) {
+        this.lane = lane;
+        this.policy = policy;
+        this.memoryLimit = memoryLimit;
+        this.blockTimeout = blockTimeout;
+    }
+
+    /**
+     * Default lane policy
+     * Events are spilled to disk, build logs block the build and metrics drop the oldest samples
+     *
+     * @param lane lane
+     * @return default lane policy
+     */
+    public static LanePolicy defaultPolicy(Lane lane) {
+        switch (lane) {
+            case SECURITY:
+                return new LanePolicy(lane, Backpressure.SPILL, 4, 0);
+            case AUDIT:
+                return new LanePolicy(lane, Backpressure.SPILL, 16, 0);
+            case BUILD_LOGS:
+                return new LanePolicy(lane, Backpressure.BLOCK, 64, 300);
+            default:
+                return new LanePolicy(lane, Backpressure.DROP_OLDEST, 8, 0);
+        }
+    }
+
+    /**
+     * Lane getter
+     *
+     * @return lane
+     */
+    public Lane getLane() {
+        return this.lane;
+    }
+
+    /**
+     * Backpressure policy getter
+     *
+     * @return backpressure policy
+     */
+    public Backpressure getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Memory limit getter
+     *
+     * @return queued requests memory limit in megabytes
+     */
+    public int getMemoryLimit() {
+        return this.memoryLimit;
+    }
+
+    /**
+     * Block timeout getter
+     *
+     * @return maximum time to wait for free space in seconds
+     */
+    public int getBlockTimeout() {
+        return this.blockTimeout;
+    }
+
+    /**
+     * Memory limit builder
+     *
+     * @return queued requests memory limit in bytes
+     */
+    public long getMemoryLimitBytes() {
+        return Math.max(1, this.memoryLimit) * 1024L * 1024L;
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends Descriptor<LanePolicy> {
+
+        /**
+         * Lanes list
+         *
+         * @return lanes list
+         */
+        public ListBoxModel doFillLaneItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (Lane lane : Lane.values()) {
+                items.add(lane.name(), lane.name());
+            }
+            return items;
+        }
+
+        /**
+         * Backpressure policies list
+         *
+         * @return backpressure policies list
+         */
+        public ListBoxModel doFillPolicyItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (Backpressure policy : Backpressure.values()) {
+                items.add(policy.getDisplayName(), policy.name());
+            }
+            return items;
+        }
+
+        /**
+         * Memory limit validator
+         *
+         * @param memoryLimit memory limit in megabytes
+         * @return memory limit validation status
+         */
+        public FormValidation doCheckMemoryLimit(@QueryParameter int memoryLimit) {
+            if (memoryLimit < 1) {
+                return FormValidation.error("Memory limit must be at least 1 MB");
+            }
+            return FormValidation.ok();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Lane policy";
+        }
+    }
+}
\ No newline at end of file
@@ -47,6 +47,16 @@ public class Log {
      */
     private String threadId;
 
+    /**
+     * Sequence number of the record in its stream, null when not sent as a part of a stream
+     */
+    private Long sequence;
+
+    /**
+     * Identifier of the batch the record was first sent with, null when not sent as a part of a stream
+     */
+    private String batchId;
+
     /**
      * Initialize log record
      *
@@ -58,7 +68,22 @@ public class Log {
      * @param threadId   Thread ID
      */
     public Log(int severity, String text, String category, String className, String methodName, String threadId) {
-        this.timestamp = System.currentTimeMillis();
+        this(System.currentTimeMillis(), severity, text, category, className, methodName, threadId);
+    }
+
+    /**
+     * Initialize log record with its own timestamp
+     *
+     * @param timestamp  record timestamp
+     * @param severity   record severity level
+     * @param text       record message
+     * @param category   record category
+     * @param className  record class name
+     * @param methodName record method name
+     * @param threadId   Thread ID
+     */
+    public Log(long timestamp, int severity, String text, String category, String className, String methodName, String threadId) {
+        this.timestamp = timestamp;
         this.severity = severity;
         this.text = text;
         this.category = category;
@@ -66,4 +91,49 @@ public class Log {
         this.methodName = methodName;
         this.threadId = threadId;
     }
+
+    /**
+     * Record message getter
+     *
+     * @return record message
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Record sequence number getter
+     *
+     * @return sequence number of the record in its stream or null
+     */
+    public Long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Record sequence number setter
+     *
+     * @param sequence the new value of the sequence number of the record in its stream
+     */
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Record batch identifier getter
+     *
+     * @return identifier of the batch the record was first sent with or null
+     */
+    public String getBatchId() {
+        return this.batchId;
+    }
+
+    /**
+     * Record batch identifier setter
+     *
+     * @param batchId the new value of the identifier of the batch the record was first sent with
+     */
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.coralogix.jenkins.model;
+
+import com.cloudbees.plugins.credentials.common.StandardListBoxModel;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.security.ACL;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import jenkins.model.Jenkins;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import java.util.Collections;
+
+import com.coralogix.jenkins.credentials.CoralogixCredential;
+
+/**
+ * Events routing rule definition
+ * Sends events of the folders and jobs matching the pattern to another Coralogix account
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class RoutingRule extends AbstractDescribableImpl<RoutingRule> {
+
+    /**
+     * Folder and job full name pattern
+     */
+    private final String pattern;
+
+    /**
+     * Coralogix Private Key credential id
+     */
+    private final String privateKeyCredentialId;
+
+    /**
+     * Application name
+     */
+    private final String application;
+
+    /**
+     * Subsystem name
+     */
+    private final String subsystem;
+
+    /**
+     * Initialize routing rule
+     *
+     * @param pattern                folder and job full name pattern
+     * @param privateKeyCredentialId Coralogix Private Key credential id
+     * @param application            application name, the Jenkins name when empty
+     * @param subsystem              subsystem name, the event type when empty
+     */
+    @DataBoundConstructor
+    public RoutingRule(String pattern, String privateKeyCredentialId, String application, String subsystem) {
+        this.pattern = pattern;
+        this.privateKeyCredentialId = privateKeyCredentialId;
+        this.application = application;
+        this.subsystem = subsystem;
+    }
+
+    /**
+     * Pattern getter
+     *
+     * @return folder and job full name pattern
+     */
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Coralogix Private Key getter
+     *
+     * @return Coralogix Private Key credential id
+     */
+    public String getPrivateKeyCredentialId() {
+        return this.privateKeyCredentialId;
+    }
+
+    /**
+     * Application name getter
+     *
+     * @return application name
+     */
+    public String getApplication() {
+        return this.application;
+    }
+
+    /**
+     * Subsystem name getter
+     *
+     * @return subsystem name
+     */
+    public String getSubsystem() {
+        return this.subsystem;
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends Descriptor<RoutingRule> {
+
+        /**
+         * Coralogix Private Keys list builder
+         *
+         * @return global credentials list
+         */
+        public ListBoxModel doFillPrivateKeyCredentialIdItems() {
+            if (!Jenkins.get().hasPermission(Jenkins.ADMINISTER)) {
+                return new StandardListBoxModel();
+            }
+            return new StandardListBoxModel().includeEmptyValue().includeAs(
+                ACL.SYSTEM,
+                Jenkins.get(),
+                CoralogixCredential.class,
+                Collections.emptyList()
+            );
+        }
+
+        /**
+         * Pattern validator
+         *
+         * @param pattern folder and job full name pattern
+         * @return pattern validation status
+         */
+        public FormValidation doCheckPattern(@QueryParameter String pattern) {
+            if (StringUtils.isBlank(pattern)) {
+                return FormValidation.error("You must provide the pattern");
+            }
+            return FormValidation.ok();
+        }
+
+        /**
+         * Coralogix Private Key validator
+         *
+         * @param privateKeyCredentialId Coralogix Private Key credential id
+         * @return credential validation status
+         */
+        public FormValidation doCheckPrivateKeyCredentialId(@QueryParameter String privateKeyCredentialId) {
+            if (StringUtils.isBlank(privateKeyCredentialId)) {
+                return FormValidation.error("You must provide the private key");
+            }
+            return FormValidation.ok();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Routing rule";
+        }
+    }
+}
@@ -18,14 +18,13 @@ import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.UUID;
 
-import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.CoralogixUploadCheckpoint;
 import com.coralogix.jenkins.utils.CoralogixAPI;
 import com.coralogix.jenkins.credentials.CoralogixCredential;
 
@@ -122,34 +121,40 @@ public class CoralogixSend extends Step {
 
     /**
      * Pipeline step executor
+     * Keeps its parameters with the pipeline program, so the upload
+     * is continued from its checkpoint when the controller restarts
      */
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Only used when starting.")
     private static class Execution extends SynchronousNonBlockingStepExecution<Void> {
 
         /**
          * Serial UID
          */
-        private static final long serialVersionUID = 1L;
+        private static final long serialVersionUID = 2L;
 
         /**
          * Coralogix Private Key
          */
-        private transient final String privateKeyCredentialId;
+        private final String privateKeyCredentialId;
 
         /**
          * Application name
          */
-        private transient final String application;
+        private final String application;
 
         /**
          * Subsystem name
          */
-        private transient final String subsystem;
+        private final String subsystem;
 
         /**
          * Logs splitting
          */
-        private transient final Boolean splitLogs;
+        private final Boolean splitLogs;
+
+        /**
+         * Upload checkpoint identifier
+         */
+        private final String checkpointId = UUID.randomUUID().toString();
 
         /**
          * Pipeline step executor initialization
@@ -175,41 +180,59 @@ public class CoralogixSend extends Step {
         protected Void run() throws Exception {
             Run<?, ?> build = getContext().get(Run.class);
             TaskListener listener = getContext().get(TaskListener.class);
+            CoralogixUploadCheckpoint checkpoint = checkpoint(build);
+            if (checkpoint.getSequence() > 0) {
+                listener.getLogger().printf("Resuming Coralogix upload after %d sent lines%n", checkpoint.getSequence());
+            }
             try {
-                List<Log> logEntries = new ArrayList<>();
-                List<String> logLines = build.getLog(Integer.MAX_VALUE);
-                if(splitLogs) {
-                    for(String logRecordText : logLines) {
-                        logEntries.add(new Log(
-                            1,
-                            logRecordText,
-                            "job",
-                            "",
-                            "",
-                            build.getDisplayName()
-                        ));
-                    }
-                } else {
-                    logEntries.add(new Log(
-                        1,
-                        String.join("\n", logLines),
-                        "job",
-                        "",
-                        "",
-                        build.getDisplayName()
-                    ));
-                }
-                CoralogixAPI.sendLogs(
+                CoralogixAPI.sendBuildLogs(
+                    build,
                     CoralogixAPI.retrieveCoralogixCredential(build, privateKeyCredentialId),
                     application,
                     subsystem,
-                    logEntries
+                    splitLogs,
+                    checkpoint
                 );
             } catch (Exception e) {
                 listener.getLogger().println("Cannot send build logs to Coralogix!");
             }
+            synchronized (build) {
+                build.removeAction(checkpoint);
+            }
+            build.save();
             return null;
         }
+
+        /**
+         * Continue the upload after a controller restart
+         */
+        @Override
+        public void onResume() {
+            try {
+                start();
+            } catch (Exception e) {
+                getContext().onFailure(e);
+            }
+        }
+
+        /**
+         * Upload checkpoint retriever, the checkpoint is attached to the build on first use
+         *
+         * @param build build context
+         * @return upload checkpoint
+         */
+        private CoralogixUploadCheckpoint checkpoint(Run<?, ?> build) {
+            synchronized (build) {
+                for (CoralogixUploadCheckpoint checkpoint : build.getActions(CoralogixUploadCheckpoint.class)) {
+                    if (checkpointId.equals(checkpoint.getId())) {
+                        return checkpoint;
+                    }
+                }
+                CoralogixUploadCheckpoint checkpoint = new CoralogixUploadCheckpoint(checkpointId);
+                build.addAction(checkpoint);
+                return checkpoint;
+            }
+        }
     }
 
     /**
@@ -0,0 +1,65 @@
+package com.coralogix.jenkins.pipeline;
+
+import com.cloudbees.workflow.rest.external.RunExt;
+import com.cloudbees.workflow.rest.external.StageNodeExt;
+import hudson.model.Run;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.coralogix.jenkins.model.BuildEvent;
+
+/**
+ * Pipeline stages collector
+ * Uses Pipeline Stage View API when it is installed
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class PipelineStages {
+
+    /**
+     * Collect pipeline run stages
+     *
+     * @param run build context
+     * @return pipeline stages or empty list for other builds
+     */
+    public static List<BuildEvent.Stage> collect(Run<?, ?> run) {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null || jenkins.getPlugin("pipeline-rest-api") == null) {
+            return Collections.emptyList();
+        }
+        return Collector.collect(run);
+    }
+
+    /**
+     * Stage View API access, loaded only when the plugin is installed
+     */
+    private static class Collector {
+
+        /**
+         * Collect pipeline run stages
+         *
+         * @param run build context
+         * @return pipeline stages or empty list for other builds
+         */
+        static List<BuildEvent.Stage> collect(Run<?, ?> run) {
+            if (!(run instanceof WorkflowRun)) {
+                return Collections.emptyList();
+            }
+            List<BuildEvent.Stage> stages = new ArrayList<>();
+            for (StageNodeExt stage : RunExt.create((WorkflowRun) run).getStages()) {
+                stages.add(new BuildEvent.Stage(
+                    stage.getName(),
+                    String.valueOf(stage.getStatus()),
+                    stage.getDurationMillis()
+                ));
+            }
+            return stages;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Acknowledgements tracker of a stream sent by several requests at once
+ * Batches are opened in stream order with the mark to store once they are
+ * delivered, acknowledgements may come in any order. The acknowledged mark
+ * only moves over a contiguous run of acknowledged batches, so a stored mark
+ * never skips a batch still in flight. Opening waits while the window of
+ * batches in flight is full, and fails once any batch has failed
+ *
+ * @param <T> mark type
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class AckTracker<T> {
+
+    /**
+     * Maximum batches in flight
+     */
+    private final int window;
+
+    /**
+     * Batches not acknowledged yet in stream order
+     */
+    private final ArrayDeque<Slot<T>> slots = new ArrayDeque<>();
+
+    /**
+     * Batches in flight count
+     */
+    private int pending;
+
+    /**
+     * Next batch sequence
+     */
+    private long next;
+
+    /**
+     * Last mark of the contiguous acknowledged batches not taken yet
+     */
+    private T acknowledged;
+
+    /**
+     * First batch failure
+     */
+    private Throwable error;
+
+    /**
+     * Initialize tracker
+     *
+     * @param window maximum batches in flight
+     */
+    public AckTracker(int window) {
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Open the next batch, waiting while the window is full
+     *
+     * @param mark mark stored once the batch and all batches before it are acknowledged
+     * @return batch sequence
+     * @throws Exception first batch failure
+     */
+    public synchronized long open(T mark) throws Exception {
+        while (error == null && pending >= window) {
+            wait();
+        }
+        check();
+        slots.addLast(new Slot<>(next, mark));
+        pending++;
+        return next++;
+    }
+
+    /**
+     * Acknowledge batch
+     *
+     * @param sequence batch sequence
+     * @param error    batch failure or null when delivered
+     */
+    public synchronized void acknowledge(long sequence, Throwable error) {
+        for (Slot<T> slot : slots) {
+            if (slot.sequence == sequence && !slot.completed) {
+                slot.completed = true;
+                slot.acknowledged = error == null;
+                pending--;
+                break;
+            }
+        }
+        if (error != null && this.error == null) {
+            this.error = error;
+        }
+        while (!slots.isEmpty() && slots.peekFirst().acknowledged) {
+            acknowledged = slots.pollFirst().mark;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Take the last mark of the contiguous acknowledged batches
+     *
+     * @return mark or null when nothing was acknowledged since the last call
+     */
+    public synchronized T take() {
+        T mark = acknowledged;
+        acknowledged = null;
+        return mark;
+    }
+
+    /**
+     * Wait until all batches in flight are completed
+     *
+     * @throws Exception first batch failure
+     */
+    public synchronized void await() throws Exception {
+        while (pending > 0) {
+            wait();
+        }
+        check();
+    }
+
+    /**
+     * Fail when a batch has failed
+     *
+     * @throws Exception first batch failure
+     */
+    private void check() throws Exception {
+        if (error instanceof Exception) {
+            throw (Exception) error;
+        }
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+    }
+
+    /**
+     * Batch in flight
+     */
+    private static class Slot<T> {
+
+        /**
+         * Batch sequence
+         */
+        private final long sequence;
+
+        /**
+         * Mark stored once the batch is acknowledged
+         */
+        private final T mark;
+
+        /**
+         * Completion status
+         */
+        private boolean completed;
+
+        /**
+         * Acknowledgement status
+         */
+        private boolean acknowledged;
+
+        /**
+         * Initialize batch in flight
+         *
+         * @param sequence batch sequence
+         * @param mark     batch mark
+         */
+        Slot(long sequence, T mark) {
+            this.sequence = sequence;
+            this.mark = mark;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.coralogix.jenkins.shipper;
+
+/**
+ * Lane backpressure policy applied when queued requests exceed the lane memory limit
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public enum Backpressure {
+
+    /**
+     * Wait for free space up to the timeout, then drop the new request
+     */
+    BLOCK("Block with timeout"),
+
+    /**
+     * Drop the new request
+     */
+    DROP_NEWEST("Drop newest"),
+
+    /**
+     * Drop the oldest queued requests
+     */
+    DROP_OLDEST("Drop oldest"),
+
+    /**
+     * Write the new request to the disk spool
+     */
+    SPILL("Spill to disk");
+
+    /**
+     * Policy display name
+     */
+    private final String displayName;
+
+    /**
+     * Initialize policy
+     *
+     * @param displayName policy display name
+     */
+    Backpressure(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Policy display name getter
+     *
+     * @return policy display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,155 @@
+package com.coralogix.jenkins.shipper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.coralogix.jenkins.model.Log;
+
+/**
+ * Logs bulks identifiers
+ * A batch of a resumable stream, such as a build log upload, is identified by
+ * the stream identifier and the sequence number of its first log line, so it
+ * keeps its identifier when the upload is resumed after a restart. Every log
+ * record carries its batch identifier and sequence number, so Coralogix can
+ * drop records delivered twice. A bulk made of stream records is identified
+ * by its records, other bulks get the next identifier of this controller
+ * process, which is kept with the bulk in the spool. A bulk is claimed before
+ * its first attempt and its identifier is kept for the de-duplication window
+ * once delivered, so a bulk sent or delivered by another path is not sent
+ * again. An attempt which timed out after Coralogix stored the bulk cannot be
+ * told from a lost one, so its retry is sent, and the records stored twice are
+ * dropped downstream by their batch identifiers and sequence numbers
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class BatchIds {
+
+    /**
+     * Claimed identifiers retention in milliseconds
+     */
+    private static final long WINDOW = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Maximum number of claimed identifiers kept
+     */
+    private static final int CAPACITY = 65536;
+
+    /**
+     * Bulks stream of this controller process, for bulks which are not a part of a resumable stream
+     */
+    private static final String STREAM = UUID.randomUUID().toString();
+
+    /**
+     * Bulks sequence of this controller process
+     */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * Identifiers instance
+     */
+    private static final BatchIds INSTANCE = new BatchIds();
+
+    /**
+     * Claim times of the bulks in flight or delivered, by identifier in claim order
+     */
+    private final Map<String, Long> claimed = new LinkedHashMap<>();
+
+    /**
+     * Identifiers instance getter
+     *
+     * @return identifiers instance
+     */
+    public static BatchIds get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Derive bulk identifier
+     *
+     * @param stream   stream identifier
+     * @param sequence bulk sequence number in the stream
+     * @return bulk identifier
+     */
+    public static String of(String stream, long sequence) {
+        return UUID.nameUUIDFromBytes((stream + "/" + sequence).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Derive identifier of the bulk carrying the log records
+     *
+     * @param logEntries logs bunch
+     * @return bulk identifier derived from the records batch identifiers and sequence numbers,
+     * or the next identifier of this controller process when a record is not a part of a stream
+     */
+    public static String of(List<Log> logEntries) {
+        if (logEntries.isEmpty()) {
+            return next();
+        }
+        StringBuilder key = new StringBuilder();
+        for (Log log : logEntries) {
+            if (log.getBatchId() == null || log.getSequence() == null) {
+                return next();
+            }
+            key.append(log.getBatchId()).append('/').append(log.getSequence()).append('\n');
+        }
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Identifier of the next bulk serialized by this controller process
+     *
+     * @return bulk identifier
+     */
+    public static String next() {
+        return of(STREAM, SEQUENCE.incrementAndGet());
+    }
+
+    /**
+     * Claim bulk before its first attempt
+     *
+     * @param id bulk identifier
+     * @return false when the bulk is in flight or was delivered within the de-duplication window
+     */
+    public synchronized boolean claim(String id) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        if (claimed.containsKey(id)) {
+            return false;
+        }
+        claimed.put(id, now);
+        return true;
+    }
+
+    /**
+     * Release claim of a bulk which was not delivered, so it can be sent again
+     *
+     * @param id bulk identifier
+     */
+    public synchronized void release(String id) {
+        claimed.remove(id);
+    }
+
+    /**
+     * Forget identifiers older than the window or above the capacity
+     *
+     * @param now current time in milliseconds
+     */
+    private void expire(long now) {
+        Iterator<Long> times = claimed.values().iterator();
+        while (times.hasNext()) {
+            long time = times.next();
+            if (claimed.size() <= CAPACITY && now - time < WINDOW) {
+                return;
+            }
+            times.remove();
+        }
+    }
+}
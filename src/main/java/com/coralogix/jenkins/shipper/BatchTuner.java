@@ -0,0 +1,262 @@
+package com.coralogix.jenkins.shipper;
+
+import jenkins.model.Jenkins;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.coralogix.jenkins.CoralogixConfiguration;
+
+/**
+ * Adaptive bulk size and linger time controller
+ * Works by additive increase and multiplicative decrease: every bulk sent within
+ * the target latency makes the next bulks larger and shortens the linger time
+ * by a step, a failed bulk or a smoothed latency above the target halves the
+ * bulk size and doubles the linger time. Decreases happen at most once per target
+ * latency, so the bulks already in flight do not decrease the values again.
+ * Values are kept between the configured floors and ceilings
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class BatchTuner {
+
+    /**
+     * Bulk size increase step in log records
+     */
+    private static final int SIZE_STEP = 50;
+
+    /**
+     * Linger time decrease step in milliseconds
+     */
+    private static final long LINGER_STEP = 50;
+
+    /**
+     * Latency smoothing factor
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * Default minimal bulk size
+     */
+    private static final int DEFAULT_SIZE_MIN = 100;
+
+    /**
+     * Default maximal bulk size
+     */
+    private static final int DEFAULT_SIZE_MAX = 2000;
+
+    /**
+     * Default minimal linger time in milliseconds
+     */
+    private static final int DEFAULT_LINGER_MIN = 200;
+
+    /**
+     * Default maximal linger time in milliseconds
+     */
+    private static final int DEFAULT_LINGER_MAX = 5000;
+
+    /**
+     * Default target latency in milliseconds
+     */
+    private static final int DEFAULT_TARGET_LATENCY = 1000;
+
+    /**
+     * Controllers by lane
+     */
+    private static final Map<Lane, BatchTuner> INSTANCES = new EnumMap<>(Lane.class);
+
+    static {
+        for (Lane lane : Lane.values()) {
+            INSTANCES.put(lane, new BatchTuner());
+        }
+    }
+
+    /**
+     * Current bulk size, starts from the floor
+     */
+    private double size = 0;
+
+    /**
+     * Current linger time in milliseconds, starts from the floor
+     */
+    private double linger = 0;
+
+    /**
+     * Smoothed requests latency in milliseconds
+     */
+    private double latency;
+
+    /**
+     * Recorded bulks count
+     */
+    private long samples;
+
+    /**
+     * Increases count
+     */
+    private long increases;
+
+    /**
+     * Decreases count
+     */
+    private long decreases;
+
+    /**
+     * Last decrease time in nanoseconds
+     */
+    private long decreased;
+
+    /**
+     * Lane controller getter
+     *
+     * @param lane requests lane
+     * @return lane controller
+     */
+    public static BatchTuner get(Lane lane) {
+        return INSTANCES.get(lane);
+    }
+
+    /**
+     * Bulk size getter
+     *
+     * @return maximum number of log records in the next bulk
+     */
+    public synchronized int getBatchSize() {
+        Bounds bounds = Bounds.current();
+        size = clamp(size, bounds.sizeMin, bounds.sizeMax);
+        return (int) size;
+    }
+
+    /**
+     * Linger time getter
+     *
+     * @return time to wait for more log records in milliseconds
+     */
+    public synchronized long getLinger() {
+        Bounds bounds = Bounds.current();
+        linger = clamp(linger, bounds.lingerMin, bounds.lingerMax);
+        return (long) linger;
+    }
+
+    /**
+     * Record logs bulk request attempt
+     *
+     * @param nanos   request time in nanoseconds, without retries and outbound traffic limits waits
+     * @param success request status
+     */
+    public synchronized void record(long nanos, boolean success) {
+        Bounds bounds = Bounds.current();
+        size = clamp(size, bounds.sizeMin, bounds.sizeMax);
+        linger = clamp(linger, bounds.lingerMin, bounds.lingerMax);
+        double millis = nanos / 1e6;
+        latency = samples++ == 0 ? millis : latency + SMOOTHING * (millis - latency);
+        if (success && latency <= bounds.targetLatency) {
+            size = clamp(size + SIZE_STEP, bounds.sizeMin, bounds.sizeMax);
+            linger = clamp(linger - LINGER_STEP, bounds.lingerMin, bounds.lingerMax);
+            increases++;
+            return;
+        }
+        long now = System.nanoTime();
+        if (decreases == 0 || now - decreased >= TimeUnit.MILLISECONDS.toNanos(bounds.targetLatency)) {
+            size = clamp(size / 2, bounds.sizeMin, bounds.sizeMax);
+            linger = clamp(Math.max(linger, 1) * 2, bounds.lingerMin, bounds.lingerMax);
+            decreased = now;
+            decreases++;
+        }
+    }
+
+    /**
+     * Controller snapshot, times are reported in milliseconds
+     *
+     * @return bulk size, linger time, smoothed latency and adjustments counts
+     */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("batchSize", getBatchSize());
+        snapshot.put("linger", getLinger());
+        snapshot.put("latency", latency);
+        snapshot.put("increases", increases);
+        snapshot.put("decreases", decreases);
+        return snapshot;
+    }
+
+    /**
+     * Keep value within the bounds
+     *
+     * @param value   value
+     * @param floor   minimal value
+     * @param ceiling maximal value
+     * @return bounded value
+     */
+    private static double clamp(double value, int floor, int ceiling) {
+        return Math.max(floor, Math.min(Math.max(floor, ceiling), value));
+    }
+
+    /**
+     * Configured floors and ceilings
+     */
+    private static class Bounds {
+
+        /**
+         * Minimal bulk size
+         */
+        private final int sizeMin;
+
+        /**
+         * Maximal bulk size
+         */
+        private final int sizeMax;
+
+        /**
+         * Minimal linger time in milliseconds
+         */
+        private final int lingerMin;
+
+        /**
+         * Maximal linger time in milliseconds
+         */
+        private final int lingerMax;
+
+        /**
+         * Target latency in milliseconds
+         */
+        private final int targetLatency;
+
+        /**
+         * Read configured bounds, defaults are used for the missing values
+         *
+         * @param configuration global configuration or null
+         */
+        Bounds(CoralogixConfiguration configuration) {
+            this.sizeMin = setting(configuration != null ? configuration.getBatchSizeMin() : null, DEFAULT_SIZE_MIN);
+            this.sizeMax = setting(configuration != null ? configuration.getBatchSizeMax() : null, DEFAULT_SIZE_MAX);
+            this.lingerMin = setting(configuration != null ? configuration.getLingerMin() : null, DEFAULT_LINGER_MIN);
+            this.lingerMax = setting(configuration != null ? configuration.getLingerMax() : null, DEFAULT_LINGER_MAX);
+            this.targetLatency = setting(configuration != null ? configuration.getTargetLatency() : null, DEFAULT_TARGET_LATENCY);
+        }
+
+        /**
+         * Current bounds getter
+         *
+         * @return configured bounds, defaults while Jenkins is not running
+         */
+        static Bounds current() {
+            return new Bounds(Jenkins.getInstanceOrNull() != null ? CoralogixConfiguration.get() : null);
+        }
+
+        /**
+         * Positive setting value
+         *
+         * @param value        configured value or null
+         * @param defaultValue value used when not configured
+         * @return setting value
+         */
+        private static int setting(Integer value, int defaultValue) {
+            return value != null && value > 0 ? value : defaultValue;
+        }
+    }
+}
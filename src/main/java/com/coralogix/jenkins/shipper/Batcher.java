@@ -0,0 +1,314 @@
+package com.coralogix.jenkins.shipper;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.coralogix.jenkins.CoralogixShippingAction;
+import com.coralogix.jenkins.exception.CoralogixDroppedException;
+import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.utils.CoralogixAPI;
+
+/**
+ * Logs bulks batcher
+ * Log records sent to the same destination by concurrent senders are collected
+ * in a buffer per destination, the buffer is sent as one logs bulk when it is
+ * full or when its linger time is over. Bulk size and linger time are tuned
+ * by the lane batch controller, log records of a sender which do not fit
+ * the bulk size are carried by several requests. Every sender gets the
+ * completion of the requests which carried its log records. A full buffer
+ * is queued by its sender, which waits when the lane asks for it, while a
+ * lingering buffer is queued by the shared timer without waiting, so a full
+ * lane never holds up the other destinations
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class Batcher {
+
+    /**
+     * Estimated JSON size of a log record without its text
+     */
+    private static final int LOG_OVERHEAD = 128;
+
+    /**
+     * Linger timer
+     */
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+        new NamingThreadFactory(new DaemonThreadFactory(), "CoralogixBatcher")
+    );
+
+    /**
+     * Requests lane
+     */
+    private final Lane lane;
+
+    /**
+     * Maximum estimated bulk size in bytes
+     */
+    private final long maxBytes;
+
+    /**
+     * Open buffers by destination, guarded by itself
+     */
+    private final Map<Destination, Buffer> buffers = new HashMap<>();
+
+    /**
+     * Initialize batcher
+     *
+     * @param lane     requests lane
+     * @param maxBytes maximum estimated bulk size in bytes
+     */
+    public Batcher(Lane lane, long maxBytes) {
+        this.lane = lane;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Add log records to the destination buffer
+     *
+     * @param destination logs destination
+     * @param job         job full name, empty when not sent on behalf of a job
+     * @param report      build shipping report or null
+     * @param logEntries  logs bunch
+     * @return completion of the requests carrying the log records
+     */
+    public CompletableFuture<Void> add(Destination destination, String job, CoralogixShippingAction report, List<Log> logEntries) {
+        BatchTuner tuner = BatchTuner.get(lane);
+        int maxEntries = tuner.getBatchSize();
+        Part part = new Part(report);
+        List<Buffer> full = new ArrayList<>();
+        synchronized (buffers) {
+            int index = 0;
+            while (index < logEntries.size()) {
+                Buffer buffer = buffers.get(destination);
+                if (buffer == null) {
+                    buffer = new Buffer(destination, job);
+                    buffers.put(destination, buffer);
+                    Buffer lingering = buffer;
+                    timer.schedule(() -> expire(lingering), tuner.getLinger(), TimeUnit.MILLISECONDS);
+                }
+                int count = Math.min(logEntries.size() - index, Math.max(1, maxEntries - buffer.logEntries.size()));
+                buffer.add(job, logEntries.subList(index, index + count), part);
+                index += count;
+                if (buffer.logEntries.size() >= maxEntries || buffer.bytes >= maxBytes) {
+                    buffers.remove(destination);
+                    full.add(buffer);
+                }
+            }
+        }
+        for (Buffer buffer : full) {
+            flush(buffer, true);
+        }
+        part.complete(null);
+        return part.completion;
+    }
+
+    /**
+     * Send the buffer when its linger time is over and it was not sent yet
+     *
+     * @param buffer lingering buffer
+     */
+    private void expire(Buffer buffer) {
+        synchronized (buffers) {
+            if (buffers.get(buffer.destination) != buffer) {
+                return;
+            }
+            buffers.remove(buffer.destination);
+        }
+        flush(buffer, false);
+    }
+
+    /**
+     * Send buffer as one logs bulk
+     *
+     * @param buffer closed buffer
+     * @param wait   wait for free lane space, otherwise the bulk is spilled to disk when the lane is full
+     */
+    private void flush(Buffer buffer, boolean wait) {
+        CompletableFuture<Void> completion;
+        try {
+            Payload payload = CoralogixAPI.serialize(buffer.job, buffer.destination, buffer.logEntries);
+            Dispatcher.Request request = () -> send(payload, buffer.parts);
+            completion = wait
+                ? Dispatcher.get().submit(lane, payload, request)
+                : Dispatcher.get().offer(lane, payload, request);
+        } catch (RuntimeException e) {
+            completion = new CompletableFuture<>();
+            completion.completeExceptionally(e);
+        }
+        completion.whenComplete((result, error) -> {
+            for (Map.Entry<Part, Integer> part : buffer.parts.entrySet()) {
+                if (error instanceof CoralogixDroppedException && part.getKey().report != null) {
+                    part.getKey().report.recordDrops(part.getValue());
+                }
+                part.getKey().complete(error);
+            }
+        });
+    }
+
+    /**
+     * Send logs bulk and record the request in the reports of its senders
+     *
+     * @param payload logs bulk
+     * @param parts   senders parts of the bulk with their log records counts
+     * @throws Exception
+     */
+    private void send(Payload payload, Map<Part, Integer> parts) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            CoralogixAPI.sendPayload(payload, null, lane, () -> {
+                for (Part part : parts.keySet()) {
+                    if (part.report != null) {
+                        part.report.recordRetry();
+                    }
+                }
+            });
+            success = true;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            for (Map.Entry<Part, Integer> part : parts.entrySet()) {
+                if (part.getKey().report != null) {
+                    part.getKey().report.recordRequest(
+                        (long) payload.getBody().length * part.getValue() / Math.max(1, payload.getEntries()),
+                        nanos,
+                        success
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Destination buffer, guarded by the buffers map until it is closed
+     */
+    private static class Buffer {
+
+        /**
+         * Logs destination
+         */
+        private final Destination destination;
+
+        /**
+         * Buffered log records
+         */
+        private final List<Log> logEntries = new ArrayList<>();
+
+        /**
+         * Senders parts with their log records counts
+         */
+        private final Map<Part, Integer> parts = new LinkedHashMap<>();
+
+        /**
+         * Job full name, empty when the records come from several jobs
+         */
+        private String job;
+
+        /**
+         * Estimated bulk size in bytes
+         */
+        private long bytes;
+
+        /**
+         * Initialize buffer
+         *
+         * @param destination logs destination
+         * @param job         first sender job full name
+         */
+        Buffer(Destination destination, String job) {
+            this.destination = destination;
+            this.job = job;
+        }
+
+        /**
+         * Add sender log records
+         *
+         * @param job        sender job full name
+         * @param logEntries sender logs bunch
+         * @param part       sender part
+         */
+        void add(String job, List<Log> logEntries, Part part) {
+            if (!this.job.equals(job)) {
+                this.job = "";
+            }
+            for (Log log : logEntries) {
+                this.bytes += LOG_OVERHEAD + (log.getText() != null ? log.getText().length() : 0);
+            }
+            this.logEntries.addAll(logEntries);
+            this.parts.merge(part, logEntries.size(), Integer::sum);
+            part.retain();
+        }
+    }
+
+    /**
+     * Sender part of the logs bulks
+     */
+    private static class Part {
+
+        /**
+         * Build shipping report or null
+         */
+        private final CoralogixShippingAction report;
+
+        /**
+         * Sender completion
+         */
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        /**
+         * Requests carrying the sender log records and not completed yet, plus one while the records are added
+         */
+        private int pending = 1;
+
+        /**
+         * First request error
+         */
+        private Throwable error;
+
+        /**
+         * Initialize sender part
+         *
+         * @param report build shipping report or null
+         */
+        Part(CoralogixShippingAction report) {
+            this.report = report;
+        }
+
+        /**
+         * Count one more request carrying the sender log records
+         */
+        synchronized void retain() {
+            pending++;
+        }
+
+        /**
+         * Complete one of the requests, the sender completes with the last of them
+         *
+         * @param error request error or null
+         */
+        synchronized void complete(Throwable error) {
+            if (this.error == null) {
+                this.error = error;
+            }
+            if (--pending > 0) {
+                return;
+            }
+            if (this.error != null) {
+                completion.completeExceptionally(this.error);
+            } else {
+                completion.complete(null);
+            }
+        }
+    }
+}
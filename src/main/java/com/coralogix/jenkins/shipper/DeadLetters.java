@@ -0,0 +1,654 @@
+package com.coralogix.jenkins.shipper;
+
+import com.google.gson.Gson;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.coralogix.jenkins.exception.CoralogixPluginException;
+import com.coralogix.jenkins.utils.CoralogixAPI;
+
+/**
+ * Dead letters store
+ * Keeps logs bulks rejected by Coralogix as files in JENKINS_HOME/coralogix/dead-letters,
+ * one file per bulk with the failure in the file header. Headers are indexed in memory by time,
+ * job and error, the bulks are read from disk only when they are replayed.
+ * The private key is stored encrypted in the file header
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class DeadLetters {
+
+    /**
+     * Store logger
+     */
+    private static final Logger logger = Logger.getLogger(DeadLetters.class.getName());
+
+    /**
+     * Maximum store size in bytes
+     */
+    private static final long MAX_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * Dead letter files extension
+     */
+    private static final String EXTENSION = ".bulk";
+
+    /**
+     * Newest entries first
+     */
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator.comparingLong(Entry::getTime).reversed().thenComparing(Entry::getId);
+
+    /**
+     * Store instance, created on first use
+     */
+    private static DeadLetters instance;
+
+    /**
+     * Store directory
+     */
+    private final File directory;
+
+    /**
+     * Entries by identifier
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Entries by time
+     */
+    private final NavigableSet<Entry> byTime = new TreeSet<>(NEWEST_FIRST);
+
+    /**
+     * Entries by job full name
+     */
+    private final Map<String, NavigableSet<Entry>> byJob = new HashMap<>();
+
+    /**
+     * Entries by error
+     */
+    private final Map<String, NavigableSet<Entry>> byError = new HashMap<>();
+
+    /**
+     * Identifiers of the entries being replayed
+     */
+    private final Set<String> replaying = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Store size in bytes
+     */
+    private long bytes;
+
+    /**
+     * Initialize store and index the stored dead letters
+     *
+     * @param directory store directory
+     */
+    private DeadLetters(File directory) {
+        this.directory = directory;
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    index(new Entry(readHeader(file), file));
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.WARNING, "Cannot read Coralogix dead letter " + file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Store getter
+     *
+     * @return dead letters store
+     */
+    public static synchronized DeadLetters get() {
+        if (instance == null) {
+            instance = new DeadLetters(new File(Jenkins.get().getRootDir(), "coralogix/dead-letters"));
+        }
+        return instance;
+    }
+
+    /**
+     * Store logs bulk which could not be delivered, replacing the earlier failure of the same bulk
+     *
+     * @param lane    bulk lane
+     * @param payload logs bulk
+     * @param error   delivery failure
+     * @return false when the store is full
+     * @throws IOException
+     */
+    public boolean add(Lane lane, Payload payload, Throwable error) throws IOException {
+        Header header = new Header();
+        header.id = payload.getId();
+        header.lane = lane.name();
+        header.job = payload.getJob() != null ? payload.getJob() : "";
+        header.time = System.currentTimeMillis();
+        header.error = errorName(error);
+        header.message = error.getMessage() != null ? error.getMessage() : "";
+        header.privateKey = Secret.fromString(payload.getDestination().getPrivateKey()).getEncryptedValue();
+        header.application = payload.getDestination().getApplication();
+        header.subsystem = payload.getDestination().getSubsystem();
+        header.entries = payload.getEntries();
+        byte[] head = (new Gson().toJson(header) + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] content = Arrays.copyOf(head, head.length + payload.getBody().length);
+        System.arraycopy(payload.getBody(), 0, content, head.length, payload.getBody().length);
+        synchronized (this) {
+            Entry previous = entries.get(header.id);
+            if (bytes - (previous != null ? previous.size : 0) + content.length > MAX_BYTES) {
+                return false;
+            }
+            Files.createDirectories(directory.toPath());
+            File file = new File(directory, String.format("%013d-%s", header.time, header.id) + EXTENSION);
+            File temporary = new File(directory, file.getName() + ".tmp");
+            Files.write(temporary.toPath(), content);
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            if (previous != null) {
+                if (!previous.file.equals(file)) {
+                    Files.deleteIfExists(previous.file.toPath());
+                }
+                remove(previous);
+            }
+            index(new Entry(header, file));
+        }
+        return true;
+    }
+
+    /**
+     * Find dead letters, newest first
+     *
+     * @param job   job full name or null for any job
+     * @param error error name or null for any error
+     * @param from  earliest failure time in milliseconds, 0 for no limit
+     * @param to    latest failure time in milliseconds, 0 for no limit
+     * @return matching dead letters
+     */
+    public synchronized List<Entry> find(String job, String error, long from, long to) {
+        NavigableSet<Entry> candidates = byTime;
+        if (job != null) {
+            candidates = byJob.getOrDefault(job, new TreeSet<>(NEWEST_FIRST));
+        }
+        if (error != null) {
+            NavigableSet<Entry> failed = byError.getOrDefault(error, new TreeSet<>(NEWEST_FIRST));
+            if (failed.size() < candidates.size()) {
+                candidates = failed;
+            }
+        }
+        List<Entry> found = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (to > 0 && entry.header.time > to) {
+                continue;
+            }
+            if (from > 0 && entry.header.time < from) {
+                break;
+            }
+            if ((job == null || job.equals(entry.header.job)) && (error == null || error.equals(entry.header.error))) {
+                found.add(entry);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stored jobs getter
+     *
+     * @return full names of the jobs with dead letters
+     */
+    public synchronized List<String> getJobs() {
+        List<String> jobs = new ArrayList<>(byJob.keySet());
+        jobs.sort(null);
+        return jobs;
+    }
+
+    /**
+     * Stored errors getter
+     *
+     * @return names of the errors of the dead letters
+     */
+    public synchronized List<String> getErrors() {
+        List<String> errors = new ArrayList<>(byError.keySet());
+        errors.sort(null);
+        return errors;
+    }
+
+    /**
+     * Dead letters count getter
+     *
+     * @return stored dead letters count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Store size getter
+     *
+     * @return store size in bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Check whether the dead letter is being replayed
+     *
+     * @param id dead letter identifier
+     * @return true while the dead letter is being replayed
+     */
+    public boolean isReplaying(String id) {
+        return replaying.contains(id);
+    }
+
+    /**
+     * Delete dead letters
+     *
+     * @param ids dead letters identifiers
+     */
+    public synchronized void delete(Collection<String> ids) {
+        for (String id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null && !replaying.contains(id)) {
+                try {
+                    Files.deleteIfExists(entry.file.toPath());
+                    remove(entry);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Cannot delete Coralogix dead letter " + entry.file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send dead letters again in the background by a bounded pool of senders
+     * Delivered dead letters are deleted, the others are stored with the new failure
+     *
+     * @param ids         dead letters identifiers
+     * @param concurrency maximum number of requests in flight
+     * @return number of dead letters queued for replay
+     */
+    public int replay(Collection<String> ids, int concurrency) {
+        List<Entry> queued = new ArrayList<>();
+        synchronized (this) {
+            for (String id : ids) {
+                Entry entry = entries.get(id);
+                if (entry != null && replaying.add(id)) {
+                    queued.add(entry);
+                }
+            }
+        }
+        if (queued.isEmpty()) {
+            return 0;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(concurrency, queued.size())),
+            new NamingThreadFactory(new DaemonThreadFactory(), "CoralogixDeadLetters")
+        );
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(queued.size());
+        try {
+            for (Entry entry : queued) {
+                pool.execute(() -> {
+                    try {
+                        if (replay(entry)) {
+                            sent.incrementAndGet();
+                        }
+                    } finally {
+                        replaying.remove(entry.header.id);
+                        if (remaining.decrementAndGet() == 0) {
+                            logger.log(Level.INFO, "Replayed {0} of {1} Coralogix dead letters", new Object[]{sent.get(), queued.size()});
+                        }
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return queued.size();
+    }
+
+    /**
+     * Send dead letter again
+     *
+     * @param entry dead letter
+     * @return true when the dead letter was delivered
+     */
+    private boolean replay(Entry entry) {
+        Payload payload;
+        try {
+            payload = read(entry);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Cannot read Coralogix dead letter " + entry.file, e);
+            return false;
+        }
+        try {
+            CoralogixAPI.sendPayload(payload, null);
+        } catch (Exception e) {
+            try {
+                add(Lane.valueOf(entry.header.lane), payload, e);
+            } catch (IOException | RuntimeException ex) {
+                logger.log(Level.WARNING, "Cannot update Coralogix dead letter " + entry.file, ex);
+            }
+            return false;
+        }
+        synchronized (this) {
+            if (entries.get(entry.header.id) == entry) {
+                try {
+                    Files.deleteIfExists(entry.file.toPath());
+                    remove(entry);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Cannot delete Coralogix dead letter " + entry.file, e);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read dead letter logs bulk
+     *
+     * @param entry dead letter
+     * @return logs bulk
+     * @throws IOException
+     */
+    private static Payload read(Entry entry) throws IOException {
+        byte[] content = Files.readAllBytes(entry.file.toPath());
+        int end = 0;
+        while (end < content.length && content[end] != '\n') {
+            end++;
+        }
+        if (end == content.length) {
+            throw new IOException("Corrupted dead letter " + entry.file);
+        }
+        Header header = entry.header;
+        return new Payload(
+            new Destination(Secret.toString(Secret.fromString(header.privateKey)), header.application, header.subsystem),
+            header.job,
+            Arrays.copyOfRange(content, end + 1, content.length),
+            header.entries,
+            header.id
+        );
+    }
+
+    /**
+     * Read dead letter file header
+     *
+     * @param file dead letter file
+     * @return file header
+     * @throws IOException
+     */
+    private static Header readHeader(File file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Header header = new Gson().fromJson(reader.readLine(), Header.class);
+            if (header == null || header.id == null) {
+                throw new IOException("Corrupted dead letter " + file);
+            }
+            if (header.job == null) {
+                header.job = "";
+            }
+            return header;
+        }
+    }
+
+    /**
+     * Failure name used in the errors index
+     *
+     * @param error delivery failure
+     * @return HTTP status or failure class name
+     */
+    private static String errorName(Throwable error) {
+        if (error instanceof CoralogixPluginException && ((CoralogixPluginException) error).getStatus() > 0) {
+            return "HTTP " + ((CoralogixPluginException) error).getStatus();
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    /**
+     * Add entry to the indexes, called under the lock
+     *
+     * @param entry dead letter
+     */
+    private void index(Entry entry) {
+        entries.put(entry.header.id, entry);
+        byTime.add(entry);
+        byJob.computeIfAbsent(entry.header.job, key -> new TreeSet<>(NEWEST_FIRST)).add(entry);
+        byError.computeIfAbsent(entry.header.error, key -> new TreeSet<>(NEWEST_FIRST)).add(entry);
+        bytes += entry.size;
+    }
+
+    /**
+     * Remove entry from the indexes, called under the lock
+     *
+     * @param entry dead letter
+     */
+    private void remove(Entry entry) {
+        entries.remove(entry.header.id);
+        byTime.remove(entry);
+        unindex(byJob, entry.header.job, entry);
+        unindex(byError, entry.header.error, entry);
+        bytes -= entry.size;
+    }
+
+    /**
+     * Remove entry from the index by key
+     *
+     * @param index index
+     * @param key   entry key
+     * @param entry dead letter
+     */
+    private static void unindex(Map<String, NavigableSet<Entry>> index, String key, Entry entry) {
+        NavigableSet<Entry> indexed = index.get(key);
+        if (indexed != null) {
+            indexed.remove(entry);
+            if (indexed.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Dead letter
+     */
+    public static class Entry {
+
+        /**
+         * File header
+         */
+        private final Header header;
+
+        /**
+         * Dead letter file
+         */
+        private final File file;
+
+        /**
+         * File size in bytes
+         */
+        private final long size;
+
+        /**
+         * Initialize dead letter
+         *
+         * @param header file header
+         * @param file   dead letter file
+         */
+        Entry(Header header, File file) {
+            this.header = header;
+            this.file = file;
+            this.size = file.length();
+        }
+
+        /**
+         * Identifier getter
+         *
+         * @return logs bulk identifier
+         */
+        public String getId() {
+            return header.id;
+        }
+
+        /**
+         * Lane getter
+         *
+         * @return logs bulk lane name
+         */
+        public String getLane() {
+            return header.lane;
+        }
+
+        /**
+         * Job getter
+         *
+         * @return job full name, empty when not sent on behalf of a job
+         */
+        public String getJob() {
+            return header.job;
+        }
+
+        /**
+         * Failure time getter
+         *
+         * @return failure time in milliseconds
+         */
+        public long getTime() {
+            return header.time;
+        }
+
+        /**
+         * Failure date getter
+         *
+         * @return failure date
+         */
+        public Date getDate() {
+            return new Date(header.time);
+        }
+
+        /**
+         * Error getter
+         *
+         * @return HTTP status or failure class name
+         */
+        public String getError() {
+            return header.error;
+        }
+
+        /**
+         * Error message getter
+         *
+         * @return failure message
+         */
+        public String getMessage() {
+            return header.message;
+        }
+
+        /**
+         * Application getter
+         *
+         * @return application name
+         */
+        public String getApplication() {
+            return header.application;
+        }
+
+        /**
+         * Subsystem getter
+         *
+         * @return subsystem name
+         */
+        public String getSubsystem() {
+            return header.subsystem;
+        }
+
+        /**
+         * Log records count getter
+         *
+         * @return log records in the bulk
+         */
+        public int getEntries() {
+            return header.entries;
+        }
+    }
+
+    /**
+     * Dead letter file header
+     */
+    private static class Header {
+
+        /**
+         * Logs bulk identifier
+         */
+        private String id;
+
+        /**
+         * Lane name
+         */
+        private String lane;
+
+        /**
+         * Job full name
+         */
+        private String job;
+
+        /**
+         * Failure time in milliseconds
+         */
+        private long time;
+
+        /**
+         * HTTP status or failure class name
+         */
+        private String error;
+
+        /**
+         * Failure message
+         */
+        private String message;
+
+        /**
+         * Encrypted private key
+         */
+        private String privateKey;
+
+        /**
+         * Application name
+         */
+        private String application;
+
+        /**
+         * Subsystem name
+         */
+        private String subsystem;
+
+        /**
+         * Log records in the bulk
+         */
+        private int entries;
+    }
+}
@@ -0,0 +1,108 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.Objects;
+
+/**
+ * Coralogix logs destination
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public final class Destination {
+
+    /**
+     * Coralogix Private Key
+     */
+    private final String privateKey;
+
+    /**
+     * Application name
+     */
+    private final String application;
+
+    /**
+     * Subsystem name
+     */
+    private final String subsystem;
+
+    /**
+     * Initialize destination
+     *
+     * @param privateKey  Coralogix Private Key
+     * @param application application name
+     * @param subsystem   subsystem name
+     */
+    public Destination(String privateKey, String application, String subsystem) {
+        this.privateKey = privateKey;
+        this.application = application;
+        this.subsystem = subsystem;
+    }
+
+    /**
+     * Coralogix Private Key getter
+     *
+     * @return Coralogix Private Key
+     */
+    public String getPrivateKey() {
+        return this.privateKey;
+    }
+
+    /**
+     * Application name getter
+     *
+     * @return application name
+     */
+    public String getApplication() {
+        return this.application;
+    }
+
+    /**
+     * Subsystem name getter
+     *
+     * @return subsystem name
+     */
+    public String getSubsystem() {
+        return this.subsystem;
+    }
+
+    /**
+     * Destinations comparison
+     *
+     * @param o compared object
+     * @return comparison status
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Destination)) {
+            return false;
+        }
+        Destination that = (Destination) o;
+        return Objects.equals(privateKey, that.privateKey)
+            && Objects.equals(application, that.application)
+            && Objects.equals(subsystem, that.subsystem);
+    }
+
+    /**
+     * Destination hash code
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(privateKey, application, subsystem);
+    }
+
+    /**
+     * Destination display value without the Private Key
+     *
+     * @return destination name
+     */
+    @Override
+    public String toString() {
+        return application + "/" + subsystem;
+    }
+}
\ No newline at end of file
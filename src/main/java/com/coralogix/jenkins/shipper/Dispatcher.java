@@ -0,0 +1,1037 @@
+package com.coralogix.jenkins.shipper;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import jenkins.model.Jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.coralogix.jenkins.CoralogixConfiguration;
+import com.coralogix.jenkins.exception.CoralogixDroppedException;
+import com.coralogix.jenkins.exception.CoralogixPluginException;
+import com.coralogix.jenkins.jfr.EnqueueEvent;
+import com.coralogix.jenkins.model.LanePolicy;
+import com.coralogix.jenkins.utils.CoralogixAPI;
+
+/**
+ * Outbound requests dispatcher
+ * Requests wait in their lane queue and are taken by a shared pool of senders.
+ * The next lane is chosen by smooth weighted round-robin among the lanes with
+ * queued requests and free in-flight slots. The pool has a sender for every
+ * in-flight slot, so a request in a lane under its limit never waits for
+ * requests of the other lanes.
+ * Within a lane every destination has its own queue, destinations take turns
+ * and one destination may use all in-flight slots of the lane but one, so a slow
+ * Coralogix account does not hold up the requests to the other accounts.
+ * Queued requests of a lane are limited in bytes, the lane backpressure policy
+ * decides what happens with a request which does not fit
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class Dispatcher {
+
+    /**
+     * Outbound request
+     */
+    public interface Request {
+
+        /**
+         * Send request
+         *
+         * @throws Exception
+         */
+        void send() throws Exception;
+    }
+
+    /**
+     * Dispatcher logger
+     */
+    private static final Logger logger = Logger.getLogger(Dispatcher.class.getName());
+
+    /**
+     * Dispatcher instance
+     */
+    private static final Dispatcher INSTANCE = new Dispatcher();
+
+    /**
+     * Scheduling lock
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when a request is queued or a slot is released
+     */
+    private final Condition ready = lock.newCondition();
+
+    /**
+     * Signalled when queued requests leave a lane
+     */
+    private final Condition space = lock.newCondition();
+
+    /**
+     * Signalled when a request in flight completes
+     */
+    private final Condition idle = lock.newCondition();
+
+    /**
+     * Set on shutdown, queued and new requests are spilled to disk instead of sent
+     */
+    private boolean closed;
+
+    /**
+     * Lanes state
+     */
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+    /**
+     * Senders pool
+     */
+    private final ExecutorService senders;
+
+    /**
+     * Initialize dispatcher and start senders
+     */
+    private Dispatcher() {
+        int slots = 0;
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneState());
+            slots += lane.getMaxInFlight();
+        }
+        this.senders = Executors.newFixedThreadPool(
+            slots,
+            new NamingThreadFactory(new DaemonThreadFactory(), "CoralogixSender")
+        );
+        for (int i = 0; i < slots; i++) {
+            this.senders.execute(this::work);
+        }
+    }
+
+    /**
+     * Dispatcher instance getter
+     *
+     * @return dispatcher instance
+     */
+    public static Dispatcher get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue logs bulk
+     *
+     * @param lane    request lane
+     * @param payload logs bulk
+     * @return request completion
+     */
+    public CompletableFuture<Void> submit(Lane lane, Payload payload) {
+        return submit(lane, payload, () -> CoralogixAPI.sendPayload(payload, null, lane, null));
+    }
+
+    /**
+     * Queue logs bulk request, the bulk is spilled to disk when the lane policy asks for it
+     *
+     * @param lane    request lane
+     * @param payload logs bulk
+     * @param request outbound request sending the bulk
+     * @return request completion
+     */
+    public CompletableFuture<Void> submit(Lane lane, Payload payload, Request request) {
+        return submit(new Task(lane, payload.getDestination(), payload.getBody().length, payload.getEntries(), payload, request), true);
+    }
+
+    /**
+     * Queue logs bulk request without waiting, called from shared timer threads
+     * A bulk which does not fit a lane with the blocking policy is spilled to disk
+     * instead of waiting for free space
+     *
+     * @param lane    request lane
+     * @param payload logs bulk
+     * @param request outbound request sending the bulk
+     * @return request completion
+     */
+    public CompletableFuture<Void> offer(Lane lane, Payload payload, Request request) {
+        return submit(new Task(lane, payload.getDestination(), payload.getBody().length, payload.getEntries(), payload, request), false);
+    }
+
+    /**
+     * Queue request which cannot be spilled to disk
+     *
+     * @param lane        request lane
+     * @param destination request destination
+     * @param size        request memory size in bytes
+     * @param request     outbound request
+     * @return request completion
+     */
+    public CompletableFuture<Void> submit(Lane lane, Destination destination, long size, Request request) {
+        return submit(new Task(lane, destination, size, 1, null, request), true);
+    }
+
+    /**
+     * Wait until request is sent
+     *
+     * @param completion request completion
+     * @throws Exception request failure
+     */
+    public static void await(CompletableFuture<Void> completion) throws Exception {
+        try {
+            completion.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queue spooled logs bulks while the lane has free memory
+     * A spool file is deleted once its bulk is delivered, or moved to the dead letters
+     * when Coralogix rejects it, and is released back to the spool on any other failure
+     *
+     * @param lane spool lane
+     */
+    public void refill(Lane lane) {
+        if (Jenkins.getInstanceOrNull() == null || isClosed()) {
+            return;
+        }
+        Spool spool = Spool.get(lane);
+        if (spool.getBytes() == 0) {
+            return;
+        }
+        long limit = limit(lane).getMemoryLimitBytes() / 2;
+        LaneState state = lanes.get(lane);
+        for (File file : spool.files()) {
+            lock.lock();
+            try {
+                if (state.queued > 0 && state.bytes + file.length() > limit) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (!spool.claim(file)) {
+                continue;
+            }
+            Payload payload;
+            try {
+                payload = spool.read(file);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Cannot read Coralogix spool file " + file, e);
+                delete(spool, file);
+                continue;
+            }
+            Task task = new Task(
+                lane,
+                payload.getDestination(),
+                payload.getBody().length,
+                payload.getEntries(),
+                null,
+                () -> CoralogixAPI.sendPayload(payload, null)
+            );
+            task.file = file;
+            task.completion.whenComplete((result, error) -> {
+                if (error == null) {
+                    delete(spool, file);
+                } else if (isRejected(error)) {
+                    deadLetter(lane, payload, error);
+                    delete(spool, file);
+                } else {
+                    // left in the spool and sent again by a later refill
+                    spool.release(file);
+                }
+            });
+            lock.lock();
+            try {
+                state.add(task);
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Stop sending, called on shutdown
+     * Waits until all queued requests are sent or the timeout is over, then spills
+     * the requests left in the queues to disk. Requests submitted after the call
+     * are spilled at once
+     *
+     * @param timeout maximum time to wait for the queues to drain
+     * @param unit    timeout unit
+     */
+    public void close(long timeout, TimeUnit unit) {
+        List<Task> left = new ArrayList<>();
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            closed = true;
+            while (isBusy() && nanos > 0) {
+                nanos = idle.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (LaneState state : lanes.values()) {
+                left.addAll(state.clear());
+            }
+            space.signalAll();
+            lock.unlock();
+        }
+        for (Task task : left) {
+            abandon(task);
+        }
+        if (!left.isEmpty()) {
+            logger.log(Level.INFO, "Coralogix queues were not drained in time, {0} requests were left", left.size());
+        }
+    }
+
+    /**
+     * Send spooled logs bulks directly, called on startup
+     * Lanes are replayed in priority order by a bounded pool of senders, files which
+     * cannot be sent are left in the spool. Replay goes on in the background
+     * when it does not finish within the timeout
+     *
+     * @param concurrency maximum number of requests in flight
+     * @param timeout     maximum time to wait for the replay
+     * @param unit        timeout unit
+     * @throws InterruptedException
+     */
+    public void replay(int concurrency, long timeout, TimeUnit unit) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(
+            concurrency,
+            new NamingThreadFactory(new DaemonThreadFactory(), "CoralogixReplay")
+        );
+        AtomicInteger sent = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            for (Lane lane : Lane.values()) {
+                Spool spool = Spool.get(lane);
+                for (File file : spool.files()) {
+                    if (spool.claim(file)) {
+                        pool.execute(() -> replay(spool, file, sent, failed));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (pool.awaitTermination(timeout, unit)) {
+            if (sent.get() > 0) {
+                logger.log(Level.INFO, "Replayed {0} spooled Coralogix logs bulks", sent.get());
+            }
+        } else {
+            logger.log(Level.INFO, "Coralogix spool replay did not finish in time, it goes on in the background");
+        }
+    }
+
+    /**
+     * Queued requests count getter
+     *
+     * @param lane requests lane
+     * @return queued requests count
+     */
+    public int getQueued(Lane lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queued requests size getter
+     *
+     * @param lane requests lane
+     * @return queued requests size in bytes
+     */
+    public long getQueuedBytes(Lane lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Requests in flight count getter
+     *
+     * @param lane requests lane
+     * @return requests in flight count
+     */
+    public int getInFlight(Lane lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue request applying the lane backpressure policy
+     *
+     * @param task queued request
+     * @param wait wait for free space under the blocking policy, otherwise the logs bulk is spilled to disk
+     * @return request completion
+     */
+    private CompletableFuture<Void> submit(Task task, boolean wait) {
+        EnqueueEvent event = new EnqueueEvent();
+        event.begin();
+        LanePolicy policy = limit(task.lane);
+        long limit = policy.getMemoryLimitBytes();
+        LaneState state = lanes.get(task.lane);
+        List<Task> dropped = new ArrayList<>();
+        boolean spill = false;
+        boolean blocked = false;
+        lock.lock();
+        try {
+            if (closed) {
+                spill = true;
+            } else if (!fits(state, task, limit)) {
+                switch (policy.getPolicy()) {
+                    case DROP_NEWEST:
+                        dropped.add(task);
+                        break;
+                    case DROP_OLDEST:
+                        while (!fits(state, task, limit)) {
+                            dropped.add(state.pollOldest());
+                        }
+                        break;
+                    case SPILL:
+                        if (task.payload != null) {
+                            spill = true;
+                            break;
+                        }
+                        // requests which cannot be spilled wait for free space
+                    default:
+                        if (!wait && task.payload != null) {
+                            spill = true;
+                            break;
+                        }
+                        long nanos = TimeUnit.SECONDS.toNanos(Math.max(0, policy.getBlockTimeout()));
+                        blocked = true;
+                        try {
+                            while (!closed && !fits(state, task, limit) && nanos > 0) {
+                                nanos = space.awaitNanos(nanos);
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        if (closed) {
+                            spill = true;
+                        } else if (!fits(state, task, limit)) {
+                            dropped.add(task);
+                        }
+                }
+            }
+            if (!spill && !dropped.contains(task)) {
+                state.add(task);
+                ready.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.lane = task.lane.name();
+            event.policy = policy.getPolicy().name();
+            event.bulkSize = task.entries;
+            event.bytes = task.size;
+            event.blocked = blocked;
+            event.outcome = spill ? "spilled" : dropped.contains(task) ? "dropped" : "queued";
+            event.commit();
+        }
+        for (Task droppedTask : dropped) {
+            drop(droppedTask);
+        }
+        if (spill) {
+            abandon(task);
+        }
+        return task.completion;
+    }
+
+    /**
+     * Check whether any request is queued or in flight, called under the lock
+     *
+     * @return true when the dispatcher has work
+     */
+    private boolean isBusy() {
+        for (LaneState state : lanes.values()) {
+            if (state.queued > 0 || state.inFlight > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Closed state getter
+     *
+     * @return true after shutdown
+     */
+    private boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put aside request which is not going to be sent
+     * Logs bulks are spilled to disk, requests read from the spool fail so their file
+     * is released back to the spool, and the other requests are dropped
+     *
+     * @param task request
+     */
+    private static void abandon(Task task) {
+        if (task.file != null) {
+            task.completion.completeExceptionally(new CoralogixPluginException(
+                "Coralogix " + task.lane + " lane is closed, the logs bulk is left in the spool"
+            ));
+            return;
+        }
+        if (task.payload != null) {
+            spill(task);
+        } else {
+            drop(task);
+        }
+    }
+
+    /**
+     * Check whether request fits in the lane memory limit, called under the lock
+     *
+     * @param state lane state
+     * @param task  queued request
+     * @param limit lane memory limit in bytes
+     * @return true when the request fits, a request always fits an empty lane
+     */
+    private static boolean fits(LaneState state, Task task, long limit) {
+        return state.queued == 0 || state.bytes + task.size <= limit;
+    }
+
+    /**
+     * Lane policy getter
+     *
+     * @param lane requests lane
+     * @return configured or default lane policy
+     */
+    private static LanePolicy limit(Lane lane) {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        return configuration != null ? configuration.getLanePolicy(lane) : LanePolicy.defaultPolicy(lane);
+    }
+
+    /**
+     * Drop request, a request read from the spool keeps its file
+     *
+     * @param task dropped request
+     */
+    private static void drop(Task task) {
+        if (task.file == null) {
+            ShipperStats.get().recordDrops(task.entries);
+        }
+        task.completion.completeExceptionally(new CoralogixDroppedException(
+            "Coralogix " + task.lane + " lane is full, " + task.entries + " log records were dropped"
+        ));
+    }
+
+    /**
+     * Write request logs bulk to the lane spool
+     *
+     * @param task spilled request
+     */
+    private static void spill(Task task) {
+        try {
+            if (Spool.get(task.lane).write(task.payload)) {
+                ShipperStats.get().recordSpill(task.entries);
+                task.completion.complete(null);
+                return;
+            }
+            logger.log(Level.WARNING, "Coralogix {0} spool is full", task.lane);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Cannot write Coralogix " + task.lane + " spool", e);
+        }
+        drop(task);
+    }
+
+    /**
+     * Keep logs bulk rejected by Coralogix in the dead letters store
+     *
+     * @param lane    bulk lane
+     * @param payload logs bulk
+     * @param error   delivery failure
+     * @return false when the log records were dropped because the bulk could not be kept
+     */
+    private static boolean deadLetter(Lane lane, Payload payload, Throwable error) {
+        if (error instanceof InterruptedException || Jenkins.getInstanceOrNull() == null) {
+            return true;
+        }
+        try {
+            if (DeadLetters.get().add(lane, payload, error)) {
+                return true;
+            }
+            logger.log(Level.WARNING, "Coralogix dead letters store is full, {0} log records were dropped", payload.getEntries());
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Cannot write Coralogix dead letter", e);
+        }
+        ShipperStats.get().recordDrops(payload.getEntries());
+        return false;
+    }
+
+    /**
+     * Check whether the logs bulk was rejected by Coralogix and fails the same way when sent again
+     *
+     * @param error delivery failure
+     * @return true on responses which are not retried
+     */
+    private static boolean isRejected(Throwable error) {
+        return error instanceof CoralogixPluginException
+            && ((CoralogixPluginException) error).getStatus() > 0
+            && !CoralogixAPI.isRetryable(error);
+    }
+
+    /**
+     * Delete sent spool file
+     *
+     * @param spool lane spool
+     * @param file  spool file
+     */
+    private static void delete(Spool spool, File file) {
+        try {
+            spool.delete(file);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot delete Coralogix spool file " + file, e);
+        }
+    }
+
+    /**
+     * Send spooled logs bulk, the file is left in the spool when sending fails
+     *
+     * @param spool  lane spool
+     * @param file   spool file
+     * @param sent   sent files counter
+     * @param failed set when a file cannot be sent, the remaining files are skipped
+     */
+    private static void replay(Spool spool, File file, AtomicInteger sent, AtomicBoolean failed) {
+        if (failed.get()) {
+            spool.release(file);
+            return;
+        }
+        Payload payload;
+        try {
+            payload = spool.read(file);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Cannot read Coralogix spool file " + file, e);
+            delete(spool, file);
+            return;
+        }
+        try {
+            CoralogixAPI.sendPayload(payload, null);
+            sent.incrementAndGet();
+            delete(spool, file);
+        } catch (Exception e) {
+            failed.set(true);
+            logger.log(Level.WARNING, "Cannot replay Coralogix spool file " + file, e);
+            spool.release(file);
+        }
+    }
+
+    /**
+     * Sender loop
+     * A logs bulk rejected by Coralogix is kept in the dead letters store, a logs bulk
+     * which failed for any other reason after all retries is spilled to the lane spool
+     */
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.request.send();
+                task.completion.complete(null);
+            } catch (Throwable e) {
+                if (task.payload == null) {
+                    task.completion.completeExceptionally(e);
+                } else if (isRejected(e)) {
+                    if (!deadLetter(task.lane, task.payload, e)) {
+                        e = new CoralogixDroppedException(
+                            "Coralogix " + task.lane + " logs bulk cannot be kept after a failed delivery, "
+                                + task.entries + " log records were dropped",
+                            e
+                        );
+                    }
+                    task.completion.completeExceptionally(e);
+                } else {
+                    // failed on a network error, throttling or a server error, sent again by a later refill
+                    spill(task);
+                }
+            } finally {
+                release(task);
+            }
+        }
+    }
+
+    /**
+     * Take the next request, waiting for one when nothing can be sent
+     *
+     * @return next request
+     * @throws InterruptedException
+     */
+    private Task take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                Lane lane = next();
+                if (lane != null) {
+                    Task task = lanes.get(lane).poll(share(lane));
+                    space.signalAll();
+                    return task;
+                }
+                ready.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release in-flight slot
+     *
+     * @param task sent request
+     */
+    private void release(Task task) {
+        lock.lock();
+        try {
+            lanes.get(task.lane).release(task);
+            ready.signal();
+            idle.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Choose the next lane by smooth weighted round-robin, called under the lock
+     *
+     * @return next lane or null when no lane can send
+     */
+    private Lane next() {
+        Lane best = null;
+        int total = 0;
+        for (Map.Entry<Lane, LaneState> entry : lanes.entrySet()) {
+            LaneState state = entry.getValue();
+            if (state.queued == 0
+                || state.inFlight >= entry.getKey().getMaxInFlight()
+                || !state.canSend(share(entry.getKey()))) {
+                continue;
+            }
+            state.credit += entry.getKey().getWeight();
+            total += entry.getKey().getWeight();
+            if (best == null || state.credit > lanes.get(best).credit) {
+                best = entry.getKey();
+            }
+        }
+        if (best != null) {
+            lanes.get(best).credit -= total;
+        }
+        return best;
+    }
+
+    /**
+     * Maximum number of requests in flight to a single destination of the lane
+     *
+     * @param lane requests lane
+     * @return lane in-flight slots but one, at least one slot
+     */
+    private static int share(Lane lane) {
+        return Math.max(1, lane.getMaxInFlight() - 1);
+    }
+
+    /**
+     * Lane scheduling state, guarded by the lock
+     */
+    private static class LaneState {
+
+        /**
+         * Queues by destination
+         */
+        private final Map<Destination, DestinationQueue> destinations = new HashMap<>();
+
+        /**
+         * Destinations with queued requests in the turns order
+         */
+        private final ArrayDeque<DestinationQueue> turns = new ArrayDeque<>();
+
+        /**
+         * Queued requests count
+         */
+        private int queued;
+
+        /**
+         * Queued requests size in bytes
+         */
+        private long bytes;
+
+        /**
+         * Requests in flight
+         */
+        private int inFlight;
+
+        /**
+         * Smooth weighted round-robin credit
+         */
+        private int credit;
+
+        /**
+         * Queued requests sequence
+         */
+        private long sequence;
+
+        /**
+         * Queue request
+         *
+         * @param task queued request
+         */
+        void add(Task task) {
+            DestinationQueue queue = destinations.computeIfAbsent(task.destination, DestinationQueue::new);
+            if (queue.tasks.isEmpty()) {
+                turns.addLast(queue);
+            }
+            task.sequence = sequence++;
+            queue.tasks.add(task);
+            queued++;
+            bytes += task.size;
+        }
+
+        /**
+         * Check whether a destination with queued requests has a free slot
+         *
+         * @param share maximum number of requests in flight to a destination
+         * @return true when a request can be taken
+         */
+        boolean canSend(int share) {
+            for (DestinationQueue queue : turns) {
+                if (queue.inFlight < share) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Take the next request of the next destination with a free slot
+         *
+         * @param share maximum number of requests in flight to a destination
+         * @return taken request or null when every destination is at its share
+         */
+        Task poll(int share) {
+            for (int i = turns.size(); i > 0; i--) {
+                DestinationQueue queue = turns.pollFirst();
+                if (queue.inFlight >= share) {
+                    turns.addLast(queue);
+                    continue;
+                }
+                Task task = queue.tasks.poll();
+                if (!queue.tasks.isEmpty()) {
+                    turns.addLast(queue);
+                }
+                queue.inFlight++;
+                inFlight++;
+                queued--;
+                bytes -= task.size;
+                return task;
+            }
+            return null;
+        }
+
+        /**
+         * Remove the oldest queued request
+         *
+         * @return removed request
+         */
+        Task pollOldest() {
+            DestinationQueue oldest = null;
+            for (DestinationQueue queue : turns) {
+                if (oldest == null || queue.tasks.peek().sequence < oldest.tasks.peek().sequence) {
+                    oldest = queue;
+                }
+            }
+            Task task = oldest.tasks.poll();
+            if (oldest.tasks.isEmpty()) {
+                turns.remove(oldest);
+                forget(oldest);
+            }
+            queued--;
+            bytes -= task.size;
+            return task;
+        }
+
+        /**
+         * Remove all queued requests
+         *
+         * @return removed requests
+         */
+        List<Task> clear() {
+            List<Task> tasks = new ArrayList<>();
+            for (DestinationQueue queue : turns) {
+                tasks.addAll(queue.tasks);
+                queue.tasks.clear();
+                forget(queue);
+            }
+            turns.clear();
+            queued = 0;
+            bytes = 0;
+            return tasks;
+        }
+
+        /**
+         * Release in-flight slot of the request
+         *
+         * @param task sent request
+         */
+        void release(Task task) {
+            DestinationQueue queue = destinations.get(task.destination);
+            queue.inFlight--;
+            inFlight--;
+            forget(queue);
+        }
+
+        /**
+         * Remove destination queue which is idle
+         *
+         * @param queue destination queue
+         */
+        private void forget(DestinationQueue queue) {
+            if (queue.inFlight == 0 && queue.tasks.isEmpty()) {
+                destinations.remove(queue.destination);
+            }
+        }
+    }
+
+    /**
+     * Destination requests queue, guarded by the lock
+     */
+    private static class DestinationQueue {
+
+        /**
+         * Requests destination
+         */
+        private final Destination destination;
+
+        /**
+         * Queued requests
+         */
+        private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+
+        /**
+         * Requests in flight
+         */
+        private int inFlight;
+
+        /**
+         * Initialize destination queue
+         *
+         * @param destination requests destination
+         */
+        DestinationQueue(Destination destination) {
+            this.destination = destination;
+        }
+    }
+
+    /**
+     * Queued request
+     */
+    private static class Task {
+
+        /**
+         * Request lane
+         */
+        private final Lane lane;
+
+        /**
+         * Request destination
+         */
+        private final Destination destination;
+
+        /**
+         * Request memory size in bytes
+         */
+        private final long size;
+
+        /**
+         * Log records in the request
+         */
+        private final int entries;
+
+        /**
+         * Logs bulk, null when the request cannot be spilled
+         */
+        private final Payload payload;
+
+        /**
+         * Outbound request
+         */
+        private final Request request;
+
+        /**
+         * Request completion
+         */
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        /**
+         * Spool file the logs bulk was read from, null when not spooled
+         */
+        private File file;
+
+        /**
+         * Position in the lane queue, set when queued
+         */
+        private long sequence;
+
+        /**
+         * Initialize queued request
+         *
+         * @param lane        request lane
+         * @param destination request destination
+         * @param size        request memory size in bytes
+         * @param entries     log records in the request
+         * @param payload     logs bulk or null
+         * @param request     outbound request
+         */
+        Task(Lane lane, Destination destination, long size, int entries, Payload payload, Request request) {
+            this.lane = lane;
+            this.destination = destination;
+            this.size = size;
+            this.entries = entries;
+            this.payload = payload;
+            this.request = request;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Frequent keys counter
+ * Counts keys in a fixed size count-min sketch and keeps the keys
+ * with the highest estimated counts, so memory does not grow with
+ * the number of distinct keys
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class HeavyHitters {
+
+    /**
+     * Sketch rows
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * Sketch columns, power of two
+     */
+    private static final int WIDTH = 2048;
+
+    /**
+     * Sketch counters, row by row
+     */
+    private final AtomicLongArray counters = new AtomicLongArray(DEPTH * WIDTH);
+
+    /**
+     * Number of tracked top keys
+     */
+    private final int size;
+
+    /**
+     * Tracked top keys with their estimated counts
+     */
+    private final Map<String, Long> top = new HashMap<>();
+
+    /**
+     * Initialize counter
+     *
+     * @param size number of tracked top keys
+     */
+    public HeavyHitters(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Count key occurrence
+     *
+     * @param key counted key
+     * @return estimated key count including this occurrence, never less than the real count
+     */
+    public long add(String key) {
+        int hash1 = mix(key.hashCode());
+        int hash2 = mix(hash1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int column = (hash1 + row * hash2) & (WIDTH - 1);
+            estimate = Math.min(estimate, counters.incrementAndGet(row * WIDTH + column));
+        }
+        synchronized (top) {
+            if (top.containsKey(key) || top.size() < size) {
+                top.put(key, estimate);
+            } else {
+                Map.Entry<String, Long> min = null;
+                for (Map.Entry<String, Long> entry : top.entrySet()) {
+                    if (min == null || entry.getValue() < min.getValue()) {
+                        min = entry;
+                    }
+                }
+                if (min != null && estimate > min.getValue()) {
+                    top.remove(min.getKey());
+                    top.put(key, estimate);
+                }
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Top keys getter
+     *
+     * @return top keys ordered by estimated count, highest first
+     */
+    public List<Map.Entry<String, Long>> getTop() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        synchronized (top) {
+            for (Map.Entry<String, Long> entry : top.entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+            }
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries;
+    }
+
+    /**
+     * Hash finalizer spreading key hash bits
+     *
+     * @param hash key hash
+     * @return mixed hash
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram
+ * Values are counted in buckets with 32 sub-buckets per power of two,
+ * so percentiles are reported with about 3% relative error
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class Histogram {
+
+    /**
+     * Sub-bucket bits
+     */
+    private static final int SUB_BITS = 5;
+
+    /**
+     * Sub-buckets per power of two
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Values counted exactly
+     */
+    private static final int LINEAR = 2 * SUB_BUCKETS;
+
+    /**
+     * Buckets count
+     */
+    private static final int BUCKETS = LINEAR + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    /**
+     * Bucket counters
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Recorded values count
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Recorded values sum
+     */
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Maximal recorded value
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record value
+     *
+     * @param value non-negative value
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(index(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Recorded values count getter
+     *
+     * @return recorded values count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Value at percentile
+     *
+     * @param percentile percentile from 0 to 100
+     * @return approximate value or 0 when nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(max.get(), middle(i));
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Histogram summary
+     *
+     * @param scale divider applied to reported values
+     * @return count, mean, percentiles and maximum
+     */
+    public Map<String, Object> summary(double scale) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long total = count.get();
+        summary.put("count", total);
+        summary.put("mean", total > 0 ? sum.get() / scale / total : 0);
+        summary.put("p50", getValueAtPercentile(50) / scale);
+        summary.put("p90", getValueAtPercentile(90) / scale);
+        summary.put("p99", getValueAtPercentile(99) / scale);
+        summary.put("max", max.get() / scale);
+        return summary;
+    }
+
+    /**
+     * Bucket index of the value
+     *
+     * @param value non-negative value
+     * @return bucket index
+     */
+    static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return LINEAR + (exponent - SUB_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Middle value of the bucket
+     *
+     * @param index bucket index
+     * @return bucket middle value
+     */
+    static long middle(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int exponent = (index - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        int sub = (index - LINEAR) % SUB_BUCKETS;
+        int shift = exponent - SUB_BITS;
+        long low = (long) (SUB_BUCKETS + sub) << shift;
+        return low + (1L << shift) / 2;
+    }
+}
\ No newline at end of file
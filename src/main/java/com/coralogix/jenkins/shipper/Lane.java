@@ -0,0 +1,73 @@
+package com.coralogix.jenkins.shipper;
+
+/**
+ * Outbound requests priority lane
+ * Lanes share the senders by weight, and every lane has its own
+ * limit of requests in flight, so a busy lane never takes
+ * the senders reserved for the others
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public enum Lane {
+
+    /**
+     * Security events
+     */
+    SECURITY(8, 2),
+
+    /**
+     * Audit events
+     */
+    AUDIT(4, 2),
+
+    /**
+     * Build logs
+     */
+    BUILD_LOGS(2, 4),
+
+    /**
+     * Metrics, build events and system logs
+     */
+    METRICS(1, 1);
+
+    /**
+     * Scheduling weight
+     */
+    private final int weight;
+
+    /**
+     * Maximum requests in flight
+     */
+    private final int maxInFlight;
+
+    /**
+     * Initialize lane
+     *
+     * @param weight      scheduling weight
+     * @param maxInFlight maximum requests in flight
+     */
+    Lane(int weight, int maxInFlight) {
+        this.weight = weight;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Scheduling weight getter
+     *
+     * @return scheduling weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Maximum requests in flight getter
+     *
+     * @return maximum requests in flight
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+}
@@ -0,0 +1,187 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import com.coralogix.jenkins.model.Log;
+
+/**
+ * Repeated log records coalescer
+ * The first record for a key opens a window, records with the same key
+ * arriving within the window are counted and the window is sent
+ * as a single log record with the number of occurrences
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class LogCoalescer implements LogShipper.Source {
+
+    /**
+     * Maximum number of open windows, records for new keys
+     * are queued without coalescing when all windows are in use
+     */
+    private final int maxWindows;
+
+    /**
+     * Log records lane
+     */
+    private final Lane lane;
+
+    /**
+     * Open windows by key
+     */
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Initialize coalescer and register it in the logs shipper
+     *
+     * @param lane       log records lane
+     * @param maxWindows maximum number of open windows
+     */
+    public LogCoalescer(Lane lane, int maxWindows) {
+        this.lane = lane;
+        this.maxWindows = maxWindows;
+        LogShipper.get().register(lane, this);
+    }
+
+    /**
+     * Add log record
+     *
+     * @param key         coalescing key
+     * @param window      coalescing window in milliseconds, 0 to queue the record at once
+     * @param destination log record destination
+     * @param severity    log record severity
+     * @param text        log record text
+     * @param category    log record category
+     */
+    public void offer(String key, long window, Destination destination, int severity, String text, String category) {
+        long now = System.currentTimeMillis();
+        if (window <= 0 || (windows.size() >= maxWindows && !windows.containsKey(key))) {
+            LogShipper.get().offer(lane, destination, new Log(now, severity, text, category, "", "", ""));
+            return;
+        }
+        windows.compute(key, (k, current) -> {
+            if (current == null) {
+                return new Window(now, now + window, destination, severity, text, category);
+            }
+            current.count++;
+            return current;
+        });
+    }
+
+    /**
+     * Pass log records of the expired windows to the shipper
+     *
+     * @param sink log records consumer
+     */
+    @Override
+    public void drainTo(BiConsumer<Destination, Log> sink) {
+        drainTo(sink, System.currentTimeMillis());
+    }
+
+    /**
+     * Pass log records of all open windows to the shipper
+     *
+     * @param sink log records consumer
+     */
+    @Override
+    public void drainAll(BiConsumer<Destination, Log> sink) {
+        drainTo(sink, Long.MAX_VALUE);
+    }
+
+    /**
+     * Pass log records of the windows expired at the given time to the shipper
+     *
+     * @param sink log records consumer
+     * @param now  current timestamp
+     */
+    private void drainTo(BiConsumer<Destination, Log> sink, long now) {
+        for (String key : windows.keySet()) {
+            Window[] expired = new Window[1];
+            windows.computeIfPresent(key, (k, window) -> {
+                if (window.deadline > now) {
+                    return window;
+                }
+                expired[0] = window;
+                return null;
+            });
+            if (expired[0] != null) {
+                sink.accept(expired[0].destination, expired[0].toLog());
+            }
+        }
+    }
+
+    /**
+     * Coalescing window
+     */
+    private static class Window {
+
+        /**
+         * First record timestamp
+         */
+        private final long timestamp;
+
+        /**
+         * Window end timestamp
+         */
+        private final long deadline;
+
+        /**
+         * Log record destination
+         */
+        private final Destination destination;
+
+        /**
+         * Log record severity
+         */
+        private final int severity;
+
+        /**
+         * Log record text
+         */
+        private final String text;
+
+        /**
+         * Log record category
+         */
+        private final String category;
+
+        /**
+         * Records in the window, updated under the map lock
+         */
+        private int count = 1;
+
+        /**
+         * Initialize coalescing window
+         *
+         * @param timestamp   first record timestamp
+         * @param deadline    window end timestamp
+         * @param destination log record destination
+         * @param severity    log record severity
+         * @param text        log record text
+         * @param category    log record category
+         */
+        Window(long timestamp, long deadline, Destination destination, int severity, String text, String category) {
+            this.timestamp = timestamp;
+            this.deadline = deadline;
+            this.destination = destination;
+            this.severity = severity;
+            this.text = text;
+            this.category = category;
+        }
+
+        /**
+         * Coalesced log record
+         *
+         * @return log record with the number of occurrences
+         */
+        Log toLog() {
+            String message = count > 1
+                ? text + " (" + count + " times in " + (deadline - timestamp) / 1000 + "s)"
+                : text;
+            return new Log(timestamp, severity, message, category, "", "", "");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,335 @@
+package com.coralogix.jenkins.shipper;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.coralogix.jenkins.jfr.DequeueEvent;
+import com.coralogix.jenkins.model.Log;
+import com.coralogix.jenkins.utils.CoralogixAPI;
+
+/**
+ * Asynchronous logs shipper
+ * Producers put log records to a bounded lock-free queue of their lane and
+ * return at once, a single consumer groups queued records by destination
+ * on the linger timer and passes logs bulks to the lane in the dispatcher.
+ * Bulk size and linger time of every lane are tuned by its batch controller
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class LogShipper {
+
+    /**
+     * Log records source drained by the shipper
+     */
+    public interface Source {
+
+        /**
+         * Pass pending log records to the shipper
+         *
+         * @param sink log records consumer
+         */
+        void drainTo(BiConsumer<Destination, Log> sink);
+
+        /**
+         * Pass all held log records to the shipper, called on shutdown
+         *
+         * @param sink log records consumer
+         */
+        default void drainAll(BiConsumer<Destination, Log> sink) {
+            drainTo(sink);
+        }
+    }
+
+    /**
+     * Shipper logger
+     */
+    private static final Logger logger = Logger.getLogger(LogShipper.class.getName());
+
+    /**
+     * Lane queue capacity
+     */
+    private static final int CAPACITY = 4096;
+
+    /**
+     * Shipper instance
+     */
+    private static final LogShipper INSTANCE = new LogShipper();
+
+    /**
+     * Queued log records by lane
+     */
+    private final Map<Lane, RingBuffer<Entry>> queues = new EnumMap<>(Lane.class);
+
+    /**
+     * Registered log records sources by lane
+     */
+    private final Map<Lane, CopyOnWriteArrayList<Source>> sources = new EnumMap<>(Lane.class);
+
+    /**
+     * Dropped log records since the last flush
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Set on shutdown, log records are not accepted anymore
+     */
+    private volatile boolean closed;
+
+    /**
+     * Queues consumer, every lane is flushed by its own task
+     * so a lane blocked by its backpressure policy does not delay the others
+     */
+    private final ScheduledThreadPoolExecutor consumer = new ScheduledThreadPoolExecutor(
+        Lane.values().length,
+        new NamingThreadFactory(new DaemonThreadFactory(), "CoralogixShipper")
+    );
+
+    /**
+     * Initialize shipper and start the linger timer
+     */
+    private LogShipper() {
+        this.consumer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        for (Lane lane : Lane.values()) {
+            this.queues.put(lane, new RingBuffer<>(CAPACITY));
+            this.sources.put(lane, new CopyOnWriteArrayList<>());
+            schedule(lane);
+        }
+    }
+
+    /**
+     * Shipper instance getter
+     *
+     * @return shipper instance
+     */
+    public static LogShipper get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue log record, never blocks
+     *
+     * @param lane        log record lane
+     * @param destination log record destination
+     * @param log         log record
+     * @return false when the queue is full or closed and the record was dropped
+     */
+    public boolean offer(Lane lane, Destination destination, Log log) {
+        if (!closed && queues.get(lane).offer(new Entry(destination, log))) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        ShipperStats.get().recordDrops(1);
+        return false;
+    }
+
+    /**
+     * Queued log records count getter
+     *
+     * @return queued log records count
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (RingBuffer<Entry> queue : queues.values()) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Lane queued log records count getter
+     *
+     * @param lane log records lane
+     * @return queued log records count
+     */
+    public int getQueueDepth(Lane lane) {
+        return queues.get(lane).size();
+    }
+
+    /**
+     * Register log records source drained on every flush
+     *
+     * @param lane   lane of the source log records
+     * @param source log records source
+     */
+    public void register(Lane lane, Source source) {
+        sources.get(lane).addIfAbsent(source);
+    }
+
+    /**
+     * Unregister log records source
+     *
+     * @param source log records source
+     */
+    public void unregister(Source source) {
+        for (List<Source> laneSources : sources.values()) {
+            laneSources.remove(source);
+        }
+    }
+
+    /**
+     * Stop intake and pass all queued and held log records to the dispatcher, called on shutdown
+     *
+     * @param timeout maximum time to wait for the running flushes
+     * @param unit    timeout unit
+     */
+    public void close(long timeout, TimeUnit unit) {
+        closed = true;
+        consumer.shutdown();
+        try {
+            consumer.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Lane lane : Lane.values()) {
+            try {
+                drain(lane, true);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Cannot flush Coralogix logs queue", e);
+            }
+        }
+    }
+
+    /**
+     * Schedule the next flush of the lane after its current linger time
+     *
+     * @param lane log records lane
+     */
+    private void schedule(Lane lane) {
+        try {
+            consumer.schedule(() -> {
+                flush(lane);
+                if (!closed) {
+                    schedule(lane);
+                }
+            }, BatchTuner.get(lane).getLinger(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shipper is closed, queued log records are drained by close
+        }
+    }
+
+    /**
+     * Send queued log records of the lane and queue spooled logs bulks
+     *
+     * @param lane log records lane
+     */
+    void flush(Lane lane) {
+        try {
+            long droppedCount = dropped.getAndSet(0);
+            if (droppedCount > 0) {
+                logger.log(Level.WARNING, "Coralogix logs queue is full, {0} log records were dropped", droppedCount);
+            }
+            drain(lane, false);
+            Dispatcher.get().refill(lane);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Cannot flush Coralogix logs queue", e);
+        }
+    }
+
+    /**
+     * Send queued log records of the lane
+     *
+     * @param lane log records lane
+     * @param all  take all log records held by the sources, not only the pending ones
+     */
+    private void drain(Lane lane, boolean all) {
+        int bulkSize = BatchTuner.get(lane).getBatchSize();
+        Map<Destination, List<Log>> bulks = new LinkedHashMap<>();
+        BiConsumer<Destination, Log> sink = (destination, log) -> {
+            List<Log> logEntries = bulks.computeIfAbsent(destination, key -> new ArrayList<>());
+            logEntries.add(log);
+            if (logEntries.size() >= bulkSize) {
+                send(lane, destination, bulks.remove(destination));
+            }
+        };
+        RingBuffer<Entry> queue = queues.get(lane);
+        DequeueEvent event = new DequeueEvent();
+        event.begin();
+        int count = 0;
+        long oldest = 0;
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (count++ == 0) {
+                oldest = entry.enqueued;
+            }
+            sink.accept(entry.destination, entry.log);
+        }
+        event.end();
+        if (count > 0 && event.shouldCommit()) {
+            event.lane = lane.name();
+            event.bulkSize = count;
+            event.maxWait = System.nanoTime() - oldest;
+            event.commit();
+        }
+        for (Source source : sources.get(lane)) {
+            if (all) {
+                source.drainAll(sink);
+            } else {
+                source.drainTo(sink);
+            }
+        }
+        bulks.forEach((destination, logEntries) -> send(lane, destination, logEntries));
+    }
+
+    /**
+     * Serialize logs bulk and pass it to the dispatcher
+     *
+     * @param lane        logs lane
+     * @param destination logs destination
+     * @param logEntries  logs bunch
+     */
+    private void send(Lane lane, Destination destination, List<Log> logEntries) {
+        Dispatcher.get().submit(lane, CoralogixAPI.serialize("", destination, logEntries)).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.log(Level.WARNING, "Cannot send logs to Coralogix!");
+            }
+        });
+    }
+
+    /**
+     * Queued log record
+     */
+    private static class Entry {
+
+        /**
+         * Log record destination
+         */
+        private final Destination destination;
+
+        /**
+         * Log record
+         */
+        private final Log log;
+
+        /**
+         * Queueing time in nanoseconds
+         */
+        private final long enqueued = System.nanoTime();
+
+        /**
+         * Initialize queued log record
+         *
+         * @param destination log record destination
+         * @param log         log record
+         */
+        Entry(Destination destination, Log log) {
+            this.destination = destination;
+            this.log = log;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Item path patterns trie
+ * Patterns are split to segments by '/', a segment is matched literally unless it
+ * contains wildcards: '*' matches one whole segment, '**' matches any number of
+ * segments and '*' or '?' inside a segment match characters of that segment.
+ * Literal segments are looked up by hash, so matching a path takes time proportional
+ * to its length. When several patterns match, the value added first wins
+ *
+ * @param <T> value type
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class PathTrie<T> {
+
+    /**
+     * Trie root
+     */
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Added values count
+     */
+    private int size;
+
+    /**
+     * Add pattern
+     *
+     * @param pattern item path pattern
+     * @param value   value returned for the matching paths
+     */
+    public void add(String pattern, T value) {
+        Node<T> node = root;
+        for (String segment : split(pattern)) {
+            if (segment.equals("**")) {
+                node = node.any != null ? node.any : (node.any = new Node<>());
+            } else if (segment.equals("*")) {
+                node = node.one != null ? node.one : (node.one = new Node<>());
+            } else if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+                Node<T> child = null;
+                for (Glob<T> glob : node.globs) {
+                    if (glob.source.equals(segment)) {
+                        child = glob.node;
+                    }
+                }
+                if (child == null) {
+                    child = new Node<>();
+                    node.globs.add(new Glob<>(segment, child));
+                }
+                node = child;
+            } else {
+                node = node.literals.computeIfAbsent(segment, key -> new Node<>());
+            }
+        }
+        if (node.value == null) {
+            node.value = value;
+            node.order = size;
+        }
+        size++;
+    }
+
+    /**
+     * Find value of the first added pattern matching the path
+     *
+     * @param path item full name
+     * @return matching value or null when no pattern matches
+     */
+    public T match(String path) {
+        Node<T> best = match(root, split(path), 0, null);
+        return best != null ? best.value : null;
+    }
+
+    /**
+     * Patterns count getter
+     *
+     * @return added patterns count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Match path segments starting from the node
+     *
+     * @param node     trie node
+     * @param segments path segments
+     * @param index    first segment to match
+     * @param best     best match found so far
+     * @return best match
+     */
+    private static <T> Node<T> match(Node<T> node, String[] segments, int index, Node<T> best) {
+        if (node.any != null) {
+            for (int i = index; i <= segments.length; i++) {
+                best = match(node.any, segments, i, best);
+            }
+        }
+        if (index == segments.length) {
+            return node.value != null && (best == null || node.order < best.order) ? node : best;
+        }
+        String segment = segments[index];
+        Node<T> literal = node.literals.get(segment);
+        if (literal != null) {
+            best = match(literal, segments, index + 1, best);
+        }
+        if (node.one != null) {
+            best = match(node.one, segments, index + 1, best);
+        }
+        for (Glob<T> glob : node.globs) {
+            if (glob.pattern.matcher(segment).matches()) {
+                best = match(glob.node, segments, index + 1, best);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Split path to segments
+     *
+     * @param path item path or pattern
+     * @return path segments
+     */
+    private static String[] split(String path) {
+        String trimmed = path.trim();
+        while (trimmed.startsWith("/")) {
+            trimmed = trimmed.substring(1);
+        }
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+
+    /**
+     * Trie node
+     */
+    private static class Node<T> {
+
+        /**
+         * Literal segments children
+         */
+        private final Map<String, Node<T>> literals = new HashMap<>();
+
+        /**
+         * Segment glob children
+         */
+        private final List<Glob<T>> globs = new ArrayList<>();
+
+        /**
+         * Single segment wildcard child
+         */
+        private Node<T> one;
+
+        /**
+         * Any segments wildcard child
+         */
+        private Node<T> any;
+
+        /**
+         * Value of the pattern ending here
+         */
+        private T value;
+
+        /**
+         * Pattern order
+         */
+        private int order;
+    }
+
+    /**
+     * Segment glob child
+     */
+    private static class Glob<T> {
+
+        /**
+         * Glob source
+         */
+        private final String source;
+
+        /**
+         * Compiled glob
+         */
+        private final Pattern pattern;
+
+        /**
+         * Child node
+         */
+        private final Node<T> node;
+
+        /**
+         * Initialize segment glob
+         *
+         * @param source glob source
+         * @param node   child node
+         */
+        Glob(String source, Node<T> node) {
+            this.source = source;
+            this.node = node;
+            StringBuilder regex = new StringBuilder();
+            for (String part : source.split("((?<=[*?])|(?=[*?]))")) {
+                if (part.equals("*")) {
+                    regex.append("[^/]*");
+                } else if (part.equals("?")) {
+                    regex.append("[^/]");
+                } else if (!part.isEmpty()) {
+                    regex.append(Pattern.quote(part));
+                }
+            }
+            this.pattern = Pattern.compile(regex.toString());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.coralogix.jenkins.shipper;
+
+/**
+ * Serialized logs bulk
+ * The body is the bulk JSON without the private key, which is
+ * added when the request is sent, so the body can be written to disk
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class Payload {
+
+    /**
+     * Logs destination
+     */
+    private final Destination destination;
+
+    /**
+     * Job full name, empty when not sent on behalf of a job
+     */
+    private final String job;
+
+    /**
+     * Bulk JSON without the private key
+     */
+    private final byte[] body;
+
+    /**
+     * Log records in the bulk
+     */
+    private final int entries;
+
+    /**
+     * Bulk identifier, the same for every attempt to send the bulk
+     */
+    private final String id;
+
+    /**
+     * Initialize payload with a new identifier
+     *
+     * @param destination logs destination
+     * @param job         job full name
+     * @param body        bulk JSON without the private key
+     * @param entries     log records in the bulk
+     */
+    public Payload(Destination destination, String job, byte[] body, int entries) {
+        this(destination, job, body, entries, BatchIds.next());
+    }
+
+    /**
+     * Initialize payload
+     *
+     * @param destination logs destination
+     * @param job         job full name
+     * @param body        bulk JSON without the private key
+     * @param entries     log records in the bulk
+     * @param id          bulk identifier
+     */
+    public Payload(Destination destination, String job, byte[] body, int entries, String id) {
+        this.destination = destination;
+        this.job = job;
+        this.body = body;
+        this.entries = entries;
+        this.id = id;
+    }
+
+    /**
+     * Logs destination getter
+     *
+     * @return logs destination
+     */
+    public Destination getDestination() {
+        return destination;
+    }
+
+    /**
+     * Job name getter
+     *
+     * @return job full name
+     */
+    public String getJob() {
+        return job;
+    }
+
+    /**
+     * Body getter
+     *
+     * @return bulk JSON without the private key
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Log records count getter
+     *
+     * @return log records in the bulk
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Bulk identifier getter
+     *
+     * @return bulk identifier
+     */
+    public String getId() {
+        return id;
+    }
+}
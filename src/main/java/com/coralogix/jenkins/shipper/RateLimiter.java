@@ -0,0 +1,283 @@
+package com.coralogix.jenkins.shipper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import com.coralogix.jenkins.CoralogixConfiguration;
+
+/**
+ * Outbound traffic rate limiter
+ * Token buckets on requests and bytes per second shared by all senders.
+ * Senders waiting for tokens are served in round-robin by job, and request
+ * bodies take bytes in small quanta, so concurrent builds share the bandwidth
+ * fairly whatever the size of their logs. Tokens saved while idle allow short
+ * bursts up to the configured burst length
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class RateLimiter {
+
+    /**
+     * Maximum bytes taken by a sender in a single turn
+     */
+    private static final int QUANTUM = 16 * 1024;
+
+    /**
+     * Rate limiter instance
+     */
+    private static final RateLimiter INSTANCE = new RateLimiter();
+
+    /**
+     * Requests bucket
+     */
+    private final Bucket requests = new Bucket();
+
+    /**
+     * Bytes bucket
+     */
+    private final Bucket bytes = new Bucket();
+
+    /**
+     * Rate limiter instance getter
+     *
+     * @return rate limiter instance
+     */
+    public static RateLimiter get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Wait for a request token
+     *
+     * @param job job full name, empty when not sent on behalf of a job
+     * @throws InterruptedException
+     */
+    public void acquireRequest(String job) throws InterruptedException {
+        CoralogixConfiguration config = CoralogixConfiguration.get();
+        requests.acquire(job, 1, config.getEgressRequestsPerSecond(), burst(config));
+    }
+
+    /**
+     * Wait for bytes tokens
+     *
+     * @param job   job full name, empty when not sent on behalf of a job
+     * @param count bytes to send
+     * @throws InterruptedException
+     */
+    public void acquireBytes(String job, long count) throws InterruptedException {
+        CoralogixConfiguration config = CoralogixConfiguration.get();
+        bytes.acquire(job, count, config.getEgressBytesPerSecond(), burst(config));
+    }
+
+    /**
+     * Limit request body stream
+     *
+     * @param job       job full name, empty when not sent on behalf of a job
+     * @param outstream request body stream
+     * @param waited    called with every wait for bytes tokens in nanoseconds
+     * @return request body stream which waits for bytes tokens before every write
+     */
+    public OutputStream limit(String job, OutputStream outstream, LongConsumer waited) {
+        return new FilterOutputStream(outstream) {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    int chunk = Math.min(len, QUANTUM);
+                    long start = System.nanoTime();
+                    try {
+                        acquireBytes(job, chunk);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for Coralogix bandwidth");
+                    } finally {
+                        waited.accept(System.nanoTime() - start);
+                    }
+                    out.write(b, off, chunk);
+                    off += chunk;
+                    len -= chunk;
+                }
+            }
+        };
+    }
+
+    /**
+     * Burst length builder
+     *
+     * @param config global configuration
+     * @return burst length in seconds
+     */
+    private static int burst(CoralogixConfiguration config) {
+        return config.getEgressBurst() != null ? Math.max(1, config.getEgressBurst()) : 2;
+    }
+
+    /**
+     * Token bucket with round-robin turns by job
+     */
+    static class Bucket {
+
+        /**
+         * Bucket lock
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Signalled when the turn moves to the next job
+         */
+        private final Condition turn = lock.newCondition();
+
+        /**
+         * Jobs with waiting senders in the turns order
+         */
+        private final ArrayDeque<String> turns = new ArrayDeque<>();
+
+        /**
+         * Waiting senders by job
+         */
+        private final Map<String, Integer> waiting = new HashMap<>();
+
+        /**
+         * Time source in nanoseconds
+         */
+        private final LongSupplier clock;
+
+        /**
+         * Waits for tokens
+         */
+        private final Sleeper sleeper;
+
+        /**
+         * Available tokens, negative when a take exceeded the bucket capacity,
+         * the bucket starts full
+         */
+        private double tokens = Double.MAX_VALUE;
+
+        /**
+         * Last refill time
+         */
+        private long refilled;
+
+        /**
+         * Initialize bucket on the system time
+         */
+        Bucket() {
+            this(System::nanoTime, Condition::awaitNanos);
+        }
+
+        /**
+         * Initialize bucket
+         *
+         * @param clock   time source in nanoseconds
+         * @param sleeper waits for tokens
+         */
+        Bucket(LongSupplier clock, Sleeper sleeper) {
+            this.clock = clock;
+            this.sleeper = sleeper;
+            this.refilled = clock.getAsLong();
+        }
+
+        /**
+         * Wait for tokens
+         *
+         * @param job    job full name
+         * @param amount tokens to take
+         * @param rate   tokens per second, 0 when not limited
+         * @param burst  burst length in seconds
+         * @throws InterruptedException
+         */
+        void acquire(String job, long amount, long rate, int burst) throws InterruptedException {
+            if (rate <= 0) {
+                return;
+            }
+            double capacity = Math.max((double) rate * burst, Math.min(amount, QUANTUM));
+            lock.lock();
+            try {
+                if (waiting.merge(job, 1, Integer::sum) == 1) {
+                    turns.addLast(job);
+                }
+                boolean granted = false;
+                try {
+                    while (true) {
+                        long now = clock.getAsLong();
+                        tokens = Math.min(capacity, tokens + (now - refilled) * rate / 1e9);
+                        refilled = now;
+                        if (!job.equals(turns.peekFirst())) {
+                            turn.await();
+                            continue;
+                        }
+                        // a take larger than the bucket only waits for a full bucket and leaves a debt
+                        double missing = Math.min(amount, capacity) - tokens;
+                        if (missing <= 0) {
+                            tokens -= amount;
+                            granted = true;
+                            return;
+                        }
+                        sleeper.await(turn, (long) Math.ceil(missing * 1e9 / rate));
+                    }
+                } finally {
+                    int left = waiting.merge(job, -1, Integer::sum);
+                    if (left == 0) {
+                        waiting.remove(job);
+                    }
+                    if (granted || left == 0) {
+                        turns.remove(job);
+                        if (left > 0) {
+                            turns.addLast(job);
+                        }
+                        turn.signalAll();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Waiting senders count
+         *
+         * @return senders waiting for tokens or for their turn
+         */
+        int waiters() {
+            lock.lock();
+            try {
+                int count = 0;
+                for (int senders : waiting.values()) {
+                    count += senders;
+                }
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Wait for tokens
+     */
+    interface Sleeper {
+
+        /**
+         * Wait until the tokens are refilled, the bucket lock is released while waiting
+         *
+         * @param turn  bucket condition signalled when the turn moves to the next job
+         * @param nanos time until the tokens are refilled in nanoseconds
+         * @throws InterruptedException
+         */
+        void await(Condition turn, long nanos) throws InterruptedException;
+    }
+}
@@ -0,0 +1,137 @@
+package com.coralogix.jenkins.shipper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue
+ * Preallocated ring of slots with per-slot sequences, producers never block
+ * and fail fast when the ring is full
+ *
+ * @param <E> element type
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class RingBuffer<E> {
+
+    /**
+     * Ring slots
+     */
+    private final AtomicReferenceArray<E> slots;
+
+    /**
+     * Slots sequences
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Slot index mask
+     */
+    private final int mask;
+
+    /**
+     * Next write position
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next read position
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Initialize ring buffer
+     *
+     * @param capacity minimal ring capacity, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add element to the ring
+     *
+     * @param element queued element
+     * @return false when the ring is full
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Take element from the ring
+     *
+     * @return oldest element or null when the ring is empty
+     */
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = slots.getAndSet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Queued elements count
+     *
+     * @return approximate number of queued elements
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Free slots count
+     * Lets producers skip preparing an element which would not fit
+     *
+     * @return approximate number of free slots
+     */
+    public int remainingCapacity() {
+        return capacity() - Math.min(capacity(), size());
+    }
+
+    /**
+     * Ring capacity getter
+     *
+     * @return ring capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
\ No newline at end of file
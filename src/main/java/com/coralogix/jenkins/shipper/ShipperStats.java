@@ -0,0 +1,230 @@
+package com.coralogix.jenkins.shipper;
+
+import jenkins.model.Jenkins;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coralogix shipping statistics
+ * Counters and latency histograms updated by the transport and its callers
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class ShipperStats {
+
+    /**
+     * Statistics instance
+     */
+    private static final ShipperStats INSTANCE = new ShipperStats();
+
+    /**
+     * Build logs bytes read
+     */
+    private final LongAdder bytesRead = new LongAdder();
+
+    /**
+     * Request bodies bytes sent
+     */
+    private final LongAdder bytesSent = new LongAdder();
+
+    /**
+     * Log records sent
+     */
+    private final LongAdder entries = new LongAdder();
+
+    /**
+     * Requests sent
+     */
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Failed requests
+     */
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Retried requests
+     */
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * Bulks skipped because they were in flight or delivered
+     */
+    private final LongAdder duplicates = new LongAdder();
+
+    /**
+     * Dropped log records
+     */
+    private final LongAdder drops = new LongAdder();
+
+    /**
+     * Log records spilled to disk
+     */
+    private final LongAdder spilled = new LongAdder();
+
+    /**
+     * Bulk serialization time in microseconds
+     */
+    private final Histogram serialization = new Histogram();
+
+    /**
+     * Requests latency in microseconds per endpoint
+     */
+    private final ConcurrentMap<String, Histogram> latency = new ConcurrentHashMap<>();
+
+    /**
+     * Delivered logs bulks attempts latency in microseconds per lane
+     */
+    private final Map<Lane, Histogram> laneLatency = new EnumMap<>(Lane.class);
+
+    /**
+     * Initialize statistics
+     */
+    private ShipperStats() {
+        for (Lane lane : Lane.values()) {
+            laneLatency.put(lane, new Histogram());
+        }
+    }
+
+    /**
+     * Statistics instance getter
+     *
+     * @return statistics instance
+     */
+    public static ShipperStats get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record build log read
+     *
+     * @param bytes log bytes read
+     */
+    public void recordRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Record bulk serialization
+     *
+     * @param nanos serialization time in nanoseconds
+     */
+    public void recordSerialization(long nanos) {
+        serialization.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record request
+     *
+     * @param endpoint endpoint name
+     * @param count    log records in the request
+     * @param bytes    request body bytes, negative when not known
+     * @param nanos    request time in nanoseconds
+     * @param success  request status
+     */
+    public void recordRequest(String endpoint, int count, long bytes, long nanos, boolean success) {
+        requests.increment();
+        if (success) {
+            entries.add(count);
+        } else {
+            failures.increment();
+        }
+        if (bytes > 0) {
+            bytesSent.add(bytes);
+        }
+        latency.computeIfAbsent(endpoint, key -> new Histogram()).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record delivered logs bulk attempt
+     *
+     * @param lane  bulk lane
+     * @param nanos attempt time in nanoseconds
+     */
+    public void recordDelivery(Lane lane, long nanos) {
+        laneLatency.get(lane).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record retried request
+     */
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * Record bulk skipped because it was in flight or delivered
+     */
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    /**
+     * Record dropped log records
+     *
+     * @param count dropped log records
+     */
+    public void recordDrops(long count) {
+        drops.add(count);
+    }
+
+    /**
+     * Record log records spilled to disk
+     *
+     * @param count spilled log records
+     */
+    public void recordSpill(long count) {
+        spilled.add(count);
+    }
+
+    /**
+     * Statistics snapshot, times are reported in milliseconds
+     *
+     * @return statistics snapshot
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("bytesRead", bytesRead.sum());
+        snapshot.put("bytesSent", bytesSent.sum());
+        snapshot.put("entries", entries.sum());
+        snapshot.put("requests", requests.sum());
+        snapshot.put("failures", failures.sum());
+        snapshot.put("retries", retries.sum());
+        snapshot.put("duplicates", duplicates.sum());
+        snapshot.put("drops", drops.sum());
+        snapshot.put("spilled", spilled.sum());
+        snapshot.put("queueDepth", LogShipper.get().getQueueDepth());
+        Map<String, Object> lanes = new LinkedHashMap<>();
+        for (Lane lane : Lane.values()) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("queueDepth", LogShipper.get().getQueueDepth(lane));
+            state.put("queuedRequests", Dispatcher.get().getQueued(lane));
+            state.put("queuedBytes", Dispatcher.get().getQueuedBytes(lane));
+            state.put("inFlight", Dispatcher.get().getInFlight(lane));
+            state.put("batching", BatchTuner.get(lane).snapshot());
+            state.put("latency", laneLatency.get(lane).summary(1000));
+            if (Jenkins.getInstanceOrNull() != null) {
+                state.put("spoolBytes", Spool.get(lane).getBytes());
+            }
+            lanes.put(lane.name(), state);
+        }
+        snapshot.put("lanes", lanes);
+        if (Jenkins.getInstanceOrNull() != null) {
+            snapshot.put("deadLetters", DeadLetters.get().size());
+        }
+        snapshot.put("serialization", serialization.summary(1000));
+        Map<String, Object> endpoints = new TreeMap<>();
+        latency.forEach((endpoint, histogram) -> endpoints.put(endpoint, histogram.summary(1000)));
+        snapshot.put("latency", endpoints);
+        return snapshot;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.coralogix.jenkins.shipper;
+
+import com.google.gson.Gson;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.coralogix.jenkins.jfr.SpoolEvent;
+
+/**
+ * Lane disk spool
+ * Keeps payloads which do not fit in memory as files in JENKINS_HOME/coralogix/spool,
+ * one file per payload, named so that the file names order is the spill order.
+ * The private key is stored encrypted in the file header
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class Spool {
+
+    /**
+     * Maximum spool size per lane in bytes
+     */
+    private static final long MAX_BYTES = 512L * 1024 * 1024;
+
+    /**
+     * Spool files extension
+     */
+    private static final String EXTENSION = ".bulk";
+
+    /**
+     * Spools by lane
+     */
+    private static final Map<Lane, Spool> spools = new EnumMap<>(Lane.class);
+
+    /**
+     * Spool lane
+     */
+    private final Lane lane;
+
+    /**
+     * Spool directory
+     */
+    private final File directory;
+
+    /**
+     * Spool size in bytes
+     */
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * Names of the files being sent
+     */
+    private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Spool files sequence
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Initialize spool
+     *
+     * @param lane      spool lane
+     * @param directory spool directory
+     */
+    private Spool(Lane lane, File directory) {
+        this.lane = lane;
+        this.directory = directory;
+        for (File file : files()) {
+            this.bytes.addAndGet(file.length());
+        }
+    }
+
+    /**
+     * Lane spool getter
+     *
+     * @param lane spool lane
+     * @return lane spool
+     */
+    public static synchronized Spool get(Lane lane) {
+        return spools.computeIfAbsent(lane, key -> new Spool(
+            key,
+            new File(Jenkins.get().getRootDir(), "coralogix/spool/" + key.name().toLowerCase())
+        ));
+    }
+
+    /**
+     * Write payload to the spool
+     *
+     * @param payload logs bulk
+     * @return false when the spool is full
+     * @throws IOException
+     */
+    public boolean write(Payload payload) throws IOException {
+        SpoolEvent event = new SpoolEvent();
+        event.begin();
+        Header header = new Header();
+        header.privateKey = Secret.fromString(payload.getDestination().getPrivateKey()).getEncryptedValue();
+        header.application = payload.getDestination().getApplication();
+        header.subsystem = payload.getDestination().getSubsystem();
+        header.job = payload.getJob();
+        header.entries = payload.getEntries();
+        header.id = payload.getId();
+        byte[] head = (new Gson().toJson(header) + "\n").getBytes(StandardCharsets.UTF_8);
+        long size = head.length + payload.getBody().length;
+        if (bytes.addAndGet(size) > MAX_BYTES) {
+            bytes.addAndGet(-size);
+            return false;
+        }
+        try {
+            Files.createDirectories(directory.toPath());
+            String name = String.format("%013d-%012d", System.currentTimeMillis(), sequence.incrementAndGet());
+            File temporary = new File(directory, name + ".tmp");
+            byte[] content = Arrays.copyOf(head, (int) size);
+            System.arraycopy(payload.getBody(), 0, content, head.length, payload.getBody().length);
+            Files.write(temporary.toPath(), content);
+            Files.move(temporary.toPath(), new File(directory, name + EXTENSION).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            bytes.addAndGet(-size);
+            throw e;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.lane = lane.name();
+            event.job = payload.getJob();
+            event.bulkSize = payload.getEntries();
+            event.bytes = size;
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * Spool files which are not being sent, in the spill order
+     *
+     * @return spool files
+     */
+    public List<File> files() {
+        String[] names = directory.list((dir, name) -> name.endsWith(EXTENSION) && !claimed.contains(name));
+        List<File> files = new ArrayList<>();
+        if (names != null) {
+            Arrays.sort(names);
+            for (String name : names) {
+                files.add(new File(directory, name));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Mark spool file as being sent
+     *
+     * @param file spool file
+     * @return false when the file is already being sent
+     */
+    public boolean claim(File file) {
+        return claimed.add(file.getName());
+    }
+
+    /**
+     * Mark spool file as not being sent, the file is kept in the spool
+     *
+     * @param file spool file
+     */
+    public void release(File file) {
+        claimed.remove(file.getName());
+    }
+
+    /**
+     * Read spooled payload
+     *
+     * @param file spool file
+     * @return logs bulk
+     * @throws IOException
+     */
+    public Payload read(File file) throws IOException {
+        byte[] content = Files.readAllBytes(file.toPath());
+        int end = 0;
+        while (end < content.length && content[end] != '\n') {
+            end++;
+        }
+        if (end == content.length) {
+            throw new IOException("Corrupted spool file " + file);
+        }
+        Header header = new Gson().fromJson(new String(content, 0, end, StandardCharsets.UTF_8), Header.class);
+        if (header == null) {
+            throw new IOException("Corrupted spool file " + file);
+        }
+        return new Payload(
+            new Destination(Secret.toString(Secret.fromString(header.privateKey)), header.application, header.subsystem),
+            header.job,
+            Arrays.copyOfRange(content, end + 1, content.length),
+            header.entries,
+            header.id != null ? header.id : BatchIds.next()
+        );
+    }
+
+    /**
+     * Delete spool file
+     *
+     * @param file spool file
+     * @throws IOException
+     */
+    public void delete(File file) throws IOException {
+        long size = file.length();
+        try {
+            if (Files.deleteIfExists(file.toPath())) {
+                bytes.addAndGet(-size);
+            }
+        } finally {
+            claimed.remove(file.getName());
+        }
+    }
+
+    /**
+     * Spool size getter
+     *
+     * @return spool size in bytes
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Spool file header
+     */
+    private static class Header {
+
+        /**
+         * Encrypted private key
+         */
+        private String privateKey;
+
+        /**
+         * Application name
+         */
+        private String application;
+
+        /**
+         * Subsystem name
+         */
+        private String subsystem;
+
+        /**
+         * Job full name
+         */
+        private String job;
+
+        /**
+         * Log records in the bulk
+         */
+        private int entries;
+
+        /**
+         * Bulk identifier, missing in the files spooled by older versions
+         */
+        private String id;
+    }
+}
\ No newline at end of file
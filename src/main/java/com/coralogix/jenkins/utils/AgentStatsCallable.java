@@ -0,0 +1,158 @@
+package com.coralogix.jenkins.utils;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.coralogix.jenkins.model.AgentStats;
+
+/**
+ * Agent resources metrics collector
+ * Runs on the agent, all metrics are read from the agent JVM and /proc when available
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class AgentStatsCallable extends MasterToSlaveCallable<AgentStats, IOException> {
+
+    /**
+     * Serial UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Time between I/O wait measurements in milliseconds
+     */
+    private static final long IO_WAIT_SAMPLE = 200;
+
+    /**
+     * Workspace root path
+     */
+    private final String workspaceRoot;
+
+    /**
+     * Initialize collector
+     *
+     * @param workspaceRoot workspace root path
+     */
+    public AgentStatsCallable(String workspaceRoot) {
+        this.workspaceRoot = workspaceRoot;
+    }
+
+    /**
+     * Collect agent resources metrics
+     *
+     * @return agent resources metrics
+     * @throws IOException
+     */
+    @Override
+    public AgentStats call() throws IOException {
+        AgentStats stats = new AgentStats();
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        double loadAverage = os.getSystemLoadAverage();
+        stats.setLoadAverage(loadAverage >= 0 ? loadAverage : null);
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            com.sun.management.OperatingSystemMXBean sunOs = (com.sun.management.OperatingSystemMXBean) os;
+            stats.setCpuLoad(percents(sunOs.getSystemCpuLoad()), percents(sunOs.getProcessCpuLoad()));
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        stats.setHeap(heap.getUsed(), heap.getMax());
+        stats.setResidentMemory(residentMemory());
+        if (workspaceRoot != null) {
+            stats.setWorkspaceFreeSpace(new File(workspaceRoot).getUsableSpace());
+        }
+        stats.setIoWait(ioWait());
+        return stats;
+    }
+
+    /**
+     * Convert load fraction to percents
+     *
+     * @param load load fraction
+     * @return load in percents or null when not available
+     */
+    private static Double percents(double load) {
+        return load >= 0 ? load * 100 : null;
+    }
+
+    /**
+     * Agent process resident memory
+     *
+     * @return resident memory in bytes or null when not available
+     */
+    private static Long residentMemory() {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return null;
+        }
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * CPU time spent waiting for I/O during a short sample
+     *
+     * @return I/O wait in percents or null when not available
+     */
+    private static Double ioWait() {
+        long[] before = cpuTimes();
+        if (before == null) {
+            return null;
+        }
+        try {
+            Thread.sleep(IO_WAIT_SAMPLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long[] after = cpuTimes();
+        if (after == null || after[0] <= before[0]) {
+            return null;
+        }
+        return (after[1] - before[1]) * 100.0 / (after[0] - before[0]);
+    }
+
+    /**
+     * Total and I/O wait CPU times from /proc/stat
+     *
+     * @return total and I/O wait times or null when not available
+     */
+    private static long[] cpuTimes() {
+        Path stat = Paths.get("/proc/stat");
+        if (!Files.isReadable(stat)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(stat, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).startsWith("cpu ")) {
+                return null;
+            }
+            String[] fields = lines.get(0).trim().split("\\s+");
+            long total = 0;
+            for (int i = 1; i < Math.min(fields.length, 9); i++) {
+                total += Long.parseLong(fields[i]);
+            }
+            return new long[]{total, fields.length > 5 ? Long.parseLong(fields[5]) : 0};
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
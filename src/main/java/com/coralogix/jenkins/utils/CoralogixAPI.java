@@ -1,32 +1,58 @@
 package com.coralogix.jenkins.utils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
-import com.cloudbees.plugins.credentials.CredentialsMatchers;
-import com.cloudbees.plugins.credentials.CredentialsProvider;
 import com.cloudbees.plugins.credentials.CredentialsUnavailableException;
-import com.cloudbees.plugins.credentials.matchers.IdMatcher;
 import com.coralogix.jenkins.credentials.CoralogixCredential;
 import com.coralogix.jenkins.credentials.CoralogixApiCredential;
 import com.coralogix.jenkins.exception.CoralogixPluginException;
+import com.coralogix.jenkins.jfr.SendEvent;
+import com.coralogix.jenkins.jfr.SerializeEvent;
 import com.google.gson.Gson;
 import hudson.Util;
 import hudson.model.Run;
 import hudson.model.TaskListener;
-import hudson.security.ACL;
-import java.util.HashMap;
 import java.util.Map;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.lang.StringUtils;
-import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.EntityTemplate;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
 import com.coralogix.jenkins.CoralogixConfiguration;
+import com.coralogix.jenkins.CoralogixShippingAction;
+import com.coralogix.jenkins.CoralogixUploadCheckpoint;
 import com.coralogix.jenkins.model.Log;
 import com.coralogix.jenkins.model.Bulk;
 import com.coralogix.jenkins.model.Tag;
+import com.coralogix.jenkins.shipper.AckTracker;
+import com.coralogix.jenkins.shipper.BatchIds;
+import com.coralogix.jenkins.shipper.BatchTuner;
+import com.coralogix.jenkins.shipper.Batcher;
+import com.coralogix.jenkins.shipper.Destination;
+import com.coralogix.jenkins.shipper.Dispatcher;
+import com.coralogix.jenkins.shipper.Lane;
+import com.coralogix.jenkins.shipper.Payload;
+import com.coralogix.jenkins.shipper.RateLimiter;
+import com.coralogix.jenkins.shipper.ShipperStats;
 
 /**
  * Coralogix API methods
@@ -37,6 +63,31 @@ import com.coralogix.jenkins.model.Tag;
  */
 public class CoralogixAPI {
 
+    /**
+     * Build logs batcher, small logs of concurrent builds sent to the same destination share requests
+     */
+    private static final Batcher BUILD_LOGS_BATCHER = new Batcher(Lane.BUILD_LOGS, LogFileScanner.MAX_BATCH_BYTES);
+
+    /**
+     * Maximum build logs batches of one upload in flight
+     */
+    private static final int BUILD_LOGS_WINDOW = Lane.BUILD_LOGS.getMaxInFlight();
+
+    /**
+     * Minimal time between upload checkpoint saves in nanoseconds
+     */
+    private static final long CHECKPOINT_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * First retry backoff in milliseconds, doubled on every retry
+     */
+    private static final long RETRY_BACKOFF = 500;
+
+    /**
+     * Maximum retry backoff in milliseconds
+     */
+    private static final long MAX_RETRY_BACKOFF = 10000;
+
     /**
      * Push tag request
      *
@@ -48,16 +99,12 @@ public class CoralogixAPI {
      * @throws Exception
      */
     public static void pushTag(String apiKey, List<String> applications, List<String> subsystems, String tag, String icon) throws Exception {
-        CloseableHttpClient httpclient = HttpClients.createDefault();
-        try {
-            HttpPost request = new HttpPost("https://webapi." + CoralogixConfiguration.get().getCoralogixEndpoint() + "/api/v1/external/tags");
-            request.addHeader("Content-Type", "application/json");
-            request.addHeader("Authorization", "Bearer " + apiKey);
-            request.setEntity(new StringEntity(buildTag(tag, applications, subsystems, icon)));
-            httpclient.execute(request);
-        } finally {
-            httpclient.close();
-        }
+        HttpPost request = new HttpPost("https://webapi." + CoralogixConfiguration.get().getCoralogixEndpoint() + "/api/v1/external/tags");
+        request.addHeader("Content-Type", "application/json");
+        request.addHeader("Authorization", "Bearer " + apiKey);
+        StringEntity entity = new StringEntity(buildTag(tag, applications, subsystems, icon));
+        request.setEntity(entity);
+        execute("tags", "", null, request, 0, entity::getContentLength, null);
     }
 
     /**
@@ -69,14 +116,364 @@ public class CoralogixAPI {
      * @throws Exception
      */
     public static void sendLogs(String privateKey, String application, String subsystem, List<Log> logEntries) throws Exception {
-        CloseableHttpClient httpclient = HttpClients.createDefault();
+        sendPayload(serialize("", new Destination(privateKey, application, subsystem), logEntries), null);
+    }
+
+    /**
+     * Serialize logs bulk without the private key
+     *
+     * @param job         job full name, empty when not sent on behalf of a job
+     * @param destination logs destination
+     * @param logEntries  logs bunch
+     * @return serialized logs bulk
+     */
+    public static Payload serialize(String job, Destination destination, List<Log> logEntries) {
+        SerializeEvent event = new SerializeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] body = buildData(null, destination.getApplication(), destination.getSubsystem(), logEntries).getBytes(StandardCharsets.UTF_8);
+        ShipperStats.get().recordSerialization(System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.job = job;
+            event.bulkSize = logEntries.size();
+            event.bytes = body.length;
+            event.commit();
+        }
+        return new Payload(destination, job, body, logEntries.size(), BatchIds.of(logEntries));
+    }
+
+    /**
+     * Send serialized logs bulk request
+     *
+     * @param payload serialized logs bulk
+     * @param report  build shipping report or null
+     * @throws Exception
+     */
+    public static void sendPayload(Payload payload, CoralogixShippingAction report) throws Exception {
+        sendPayload(payload, report, null, null);
+    }
+
+    /**
+     * Send serialized logs bulk request
+     * Failed attempts are retried with exponential backoff while the failure is retryable.
+     * The bulk is claimed by its identifier before the first attempt, so a bulk in flight or
+     * delivered within the de-duplication window is not sent again, and the claim is released
+     * when the bulk is not delivered. Records of a stream carry their own batch identifier and
+     * sequence number in the bulk body, so the records stored twice after a timed out attempt
+     * are dropped downstream
+     *
+     * @param payload serialized logs bulk
+     * @param report  build shipping report or null
+     * @param lane    bulk lane or null
+     * @param retried called on every retry, or null
+     * @throws Exception
+     */
+    public static void sendPayload(Payload payload, CoralogixShippingAction report, Lane lane, Runnable retried) throws Exception {
+        CoralogixConfiguration configuration = CoralogixConfiguration.get();
+        int retries = configuration.getMaxRetries() != null ? Math.max(0, configuration.getMaxRetries()) : 3;
+        if (!BatchIds.get().claim(payload.getId())) {
+            ShipperStats.get().recordDuplicate();
+            return;
+        }
+        boolean delivered = false;
         try {
-            HttpPost request = new HttpPost("https://ingress." + CoralogixConfiguration.get().getCoralogixEndpoint() + "/api/v1/logs");
-            request.addHeader("Content-Type", "application/json");
-            request.setEntity(new StringEntity(buildData(privateKey, application, subsystem, logEntries)));
-            httpclient.execute(request);
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    executePayload(payloadRequest(payload), payload, report, lane);
+                    delivered = true;
+                    return;
+                } catch (Exception e) {
+                    if (attempt >= retries || !isRetryable(e)) {
+                        throw e;
+                    }
+                }
+                ShipperStats.get().recordRetry();
+                if (report != null) {
+                    report.recordRetry();
+                }
+                if (retried != null) {
+                    retried.run();
+                }
+                Thread.sleep(backoff(attempt));
+            }
+        } finally {
+            if (!delivered) {
+                BatchIds.get().release(payload.getId());
+            }
+        }
+    }
+
+    /**
+     * Build logs bulk request with the private key
+     *
+     * @param payload serialized logs bulk
+     * @return logs bulk request
+     */
+    private static HttpPost payloadRequest(Payload payload) {
+        HttpPost request = new HttpPost("https://ingress." + CoralogixConfiguration.get().getCoralogixEndpoint() + "/api/v1/logs");
+        byte[] key = ("{\"privateKey\":" + new Gson().toJson(payload.getDestination().getPrivateKey()) + ",").getBytes(StandardCharsets.UTF_8);
+        byte[] body = payload.getBody();
+        byte[] content = Arrays.copyOf(key, key.length + body.length - 1);
+        System.arraycopy(body, 1, content, key.length, body.length - 1);
+        request.setEntity(new ByteArrayEntity(content, ContentType.APPLICATION_JSON));
+        return request;
+    }
+
+    /**
+     * Execute logs bulk request
+     *
+     * @param request logs bulk request
+     * @param payload serialized logs bulk
+     * @param report  build shipping report or null
+     * @param lane    bulk lane or null
+     * @throws Exception
+     */
+    private static void executePayload(HttpPost request, Payload payload, CoralogixShippingAction report, Lane lane) throws Exception {
+        long length = request.getEntity().getContentLength();
+        execute("logs", payload.getJob(), report, request, payload.getEntries(), () -> length, lane);
+    }
+
+    /**
+     * Check whether the failed request may succeed when retried
+     *
+     * @param e request failure
+     * @return true on network errors, timeouts, throttling and server errors
+     */
+    public static boolean isRetryable(Throwable e) {
+        if (e instanceof IOException) {
+            return true;
+        }
+        if (e instanceof CoralogixPluginException) {
+            int status = ((CoralogixPluginException) e).getStatus();
+            return status == 408 || status == 429 || status >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * Retry backoff with jitter
+     *
+     * @param attempt failed attempt number, starting from 0
+     * @return time to wait before the retry in milliseconds
+     */
+    private static long backoff(int attempt) {
+        long backoff = Math.min(MAX_RETRY_BACKOFF, RETRY_BACKOFF << Math.min(attempt, 10));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Send streamed logs request
+     *
+     * @param job      job full name
+     * @param report   build shipping report
+     * @param producer logs bulk producer
+     * @throws Exception
+     */
+    private static void sendLogStream(String job, CoralogixShippingAction report, LogStreamProducer producer) throws Exception {
+        HttpPost request = new HttpPost("https://ingress." + CoralogixConfiguration.get().getCoralogixEndpoint() + "/api/v1/logs");
+        AtomicLong written = new AtomicLong();
+        EntityTemplate entity = new EntityTemplate(outstream -> {
+            CountingOutputStream counter = new CountingOutputStream(outstream);
+            try {
+                producer.writeTo(counter);
+            } finally {
+                written.set(counter.getByteCount());
+            }
+        });
+        entity.setContentType("application/json");
+        entity.setChunked(true);
+        request.setEntity(entity);
+        execute("logs", job, report, request, 1, written::get, null);
+    }
+
+    /**
+     * Execute request and check response status
+     * The request time excludes the waits for the outbound traffic limits, and the
+     * request time of a logs bulk is recorded for its lane and tunes its bulks size
+     *
+     * @param endpoint endpoint name used in statistics
+     * @param job      job full name, empty when not sent on behalf of a job
+     * @param report   build shipping report or null
+     * @param request  request to execute
+     * @param count    log records in the request
+     * @param bytes    request body size, known after the request is sent
+     * @param lane     logs bulk lane, or null when the request is not a logs bulk
+     * @throws Exception
+     */
+    private static void execute(String endpoint, String job, CoralogixShippingAction report, HttpPost request, int count, LongSupplier bytes, Lane lane) throws Exception {
+        int status = 0;
+        SendEvent event = new SendEvent();
+        event.begin();
+        RateLimiter.get().acquireRequest(job);
+        AtomicLong throttled = new AtomicLong();
+        request.setEntity(new HttpEntityWrapper(request.getEntity()) {
+            @Override
+            public void writeTo(OutputStream outstream) throws IOException {
+                super.writeTo(RateLimiter.get().limit(job, outstream, throttled::addAndGet));
+            }
+        });
+        long start = System.nanoTime();
+        try (CloseableHttpClient httpclient = HttpClients.createDefault();
+             CloseableHttpResponse response = httpclient.execute(request)) {
+            status = response.getStatusLine().getStatusCode();
+            EntityUtils.consumeQuietly(response.getEntity());
+            if (status >= 300) {
+                throw new CoralogixPluginException("Coralogix responded with HTTP status " + status, status);
+            }
         } finally {
-            httpclient.close();
+            boolean success = status >= 200 && status < 300;
+            long nanos = System.nanoTime() - start - throttled.get();
+            ShipperStats.get().recordRequest(endpoint, count, bytes.getAsLong(), nanos, success);
+            if (report != null) {
+                report.recordRequest(bytes.getAsLong(), nanos, success);
+            }
+            if (lane != null) {
+                if (success) {
+                    ShipperStats.get().recordDelivery(lane, nanos);
+                }
+                BatchTuner.get(lane).record(nanos, success);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.job = job;
+                event.bulkSize = count;
+                event.bytes = bytes.getAsLong();
+                event.status = status;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Send build logs request
+     *
+     * @param build       build context
+     * @param privateKey  Coralogix Private Key
+     * @param application application name
+     * @param subsystem   subsystem name
+     * @param splitLogs   logs splitting status
+     * @throws Exception
+     */
+    public static void sendBuildLogs(Run<?, ?> build, String privateKey, String application, String subsystem, boolean splitLogs) throws Exception {
+        sendBuildLogs(build, privateKey, application, subsystem, splitLogs, null);
+    }
+
+    /**
+     * Send build logs request continuing from the upload checkpoint
+     * Split logs are sent from the log file offset of the last acknowledged batch,
+     * several batches at once. Every log line carries its sequence number in the build log
+     * and the identifier of its batch, derived from the upload and the sequence number of
+     * the first line of the batch, so a batch sent again after a resume keeps its identifier.
+     * The checkpoint moves whenever a contiguous run of batches is acknowledged, and is
+     * saved with the build at most every few seconds and once the upload is over.
+     * Other logs are sent whole
+     *
+     * @param build       build context
+     * @param privateKey  Coralogix Private Key
+     * @param application application name
+     * @param subsystem   subsystem name
+     * @param splitLogs   logs splitting status
+     * @param checkpoint  upload checkpoint or null
+     * @throws Exception
+     */
+    public static void sendBuildLogs(Run<?, ?> build, String privateKey, String application, String subsystem, boolean splitLogs, CoralogixUploadCheckpoint checkpoint) throws Exception {
+        String job = build.getParent().getFullName();
+        Destination destination = new Destination(privateKey, application, subsystem);
+        long resumeOffset = splitLogs && checkpoint != null ? checkpoint.getOffset() : 0;
+        long bytesRead = Math.max(0, build.getLogFile().length() - resumeOffset);
+        ShipperStats.get().recordRead(bytesRead);
+        CoralogixShippingAction report = shippingReport(build);
+        report.start();
+        report.recordRead(0, bytesRead);
+        try {
+            if (splitLogs) {
+                AckTracker<Map.Entry<Long, Long>> tracker = new AckTracker<>(BUILD_LOGS_WINDOW);
+                AtomicLong sequence = new AtomicLong(checkpoint != null ? checkpoint.getSequence() : 0);
+                String stream = checkpoint != null ? checkpoint.getId() : build.getExternalizableId();
+                CheckpointWriter writer = new CheckpointWriter(build, checkpoint);
+                try {
+                    LogFileScanner.scan(build, resumeOffset, (logLines, offset) -> {
+                        report.recordRead(logLines.size(), 0);
+                        String batchId = BatchIds.of(stream, sequence.get());
+                        List<Log> logEntries = new ArrayList<>();
+                        for (String logRecordText : logLines) {
+                            Log log = new Log(
+                                1,
+                                logRecordText,
+                                "job",
+                                "",
+                                "",
+                                build.getDisplayName()
+                            );
+                            log.setSequence(sequence.getAndIncrement());
+                            log.setBatchId(batchId);
+                            logEntries.add(log);
+                        }
+                        long batch = tracker.open(new AbstractMap.SimpleImmutableEntry<>(offset, sequence.get()));
+                        BUILD_LOGS_BATCHER.add(destination, job, report, logEntries)
+                            .whenComplete((result, error) -> tracker.acknowledge(batch, error));
+                        writer.acknowledge(tracker.take(), false);
+                    });
+                } finally {
+                    try {
+                        tracker.await();
+                    } finally {
+                        writer.acknowledge(tracker.take(), true);
+                    }
+                }
+            } else if (LogStreamProducer.isSupported(build)) {
+                LogStreamProducer producer = new LogStreamProducer(
+                    build.getLogFile(),
+                    privateKey,
+                    application,
+                    subsystem,
+                    build.getDisplayName()
+                );
+                try {
+                    // streamed from the log file, so the request takes no queue memory
+                    Dispatcher.await(Dispatcher.get().submit(Lane.BUILD_LOGS, destination, 0, () -> sendLogStream(job, report, producer)));
+                } finally {
+                    report.recordRead(producer.getLines(), 0);
+                }
+            } else {
+                StringJoiner logText = new StringJoiner("\n");
+                LogFileScanner.scan(build, (logLines, offset) -> {
+                    report.recordRead(logLines.size(), 0);
+                    logLines.forEach(logText::add);
+                });
+                List<Log> logEntries = Collections.singletonList(new Log(
+                    1,
+                    logText.toString(),
+                    "job",
+                    "",
+                    "",
+                    build.getDisplayName()
+                ));
+                Dispatcher.await(BUILD_LOGS_BATCHER.add(destination, job, report, logEntries));
+            }
+            report.finish(null);
+        } catch (Exception e) {
+            report.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    /**
+     * Build shipping report retriever, the report is attached to the build on first use
+     *
+     * @param build build context
+     * @return build shipping report
+     */
+    private static CoralogixShippingAction shippingReport(Run<?, ?> build) {
+        synchronized (build) {
+            CoralogixShippingAction report = build.getAction(CoralogixShippingAction.class);
+            if (report == null) {
+                report = new CoralogixShippingAction();
+                build.addAction(report);
+            }
+            return report;
         }
     }
 
@@ -132,15 +529,10 @@ public class CoralogixAPI {
                 "The credential id was not configured - please specify the credentials to use."
             );
         }
-        List<CoralogixCredential> credentials = CredentialsProvider.lookupCredentials(
+        CoralogixCredential credential = CredentialsCache.lookup(
             CoralogixCredential.class,
             build.getParent(),
-            ACL.SYSTEM,
-            Collections.emptyList()
-        );
-        CoralogixCredential credential = CredentialsMatchers.firstOrNull(
-            credentials,
-            new IdMatcher(privateKeyCredentialId)
+            privateKeyCredentialId
         );
         if (credential == null) {
             throw new CredentialsUnavailableException(privateKeyCredentialId);
@@ -160,15 +552,10 @@ public class CoralogixAPI {
                 "The credential id was not configured - please specify the credentials to use."
             );
         }
-        List<CoralogixApiCredential> credentials = CredentialsProvider.lookupCredentials(
+        CoralogixApiCredential credential = CredentialsCache.lookup(
             CoralogixApiCredential.class,
             build.getParent(),
-            ACL.SYSTEM,
-            Collections.emptyList()
-        );
-        CoralogixApiCredential credential = CredentialsMatchers.firstOrNull(
-            credentials,
-            new IdMatcher(apiKeyCredentialId)
+            apiKeyCredentialId
         );
         if (credential == null) {
             throw new CredentialsUnavailableException(apiKeyCredentialId);
@@ -185,36 +572,90 @@ public class CoralogixAPI {
      * @return parameter final value
      */
     public static String replaceMacros(Run<?, ?> build, TaskListener listener, String inputString) {
+        return replaceMacros(new EnvironmentCache(build, listener), inputString);
+    }
+
+    /**
+     * Substitute parameters with the environment variables cached for the current step
+     *
+     * @param environment build environment variables cache
+     * @param inputString parameter name
+     * @return parameter final value
+     */
+    public static String replaceMacros(EnvironmentCache environment, String inputString) {
         String returnString = inputString;
-        if (build != null && inputString != null) {
+        if (environment.getBuild() != null && inputString != null) {
             try {
-                Map<String, String> messageEnvVars = getEnvVars(build, listener);
+                Map<String, String> messageEnvVars = environment.get();
                 returnString = Util.replaceMacro(inputString, messageEnvVars);
 
             } catch (Exception e) {
-                listener.getLogger().printf("Couldn't replace macros in message: %s%n", e.getMessage());
+                environment.getListener().getLogger().printf("Couldn't replace macros in message: %s%n", e.getMessage());
             }
         }
         return returnString;
     }
 
     /**
-     * Build environment variables list
-     *
-     * @param build build context
-     * @param listener build listener context
-     * @return environment variable list
+     * Upload checkpoint writer
+     * Moves the checkpoint on every acknowledged run of batches and saves the build
+     * only when the checkpoint interval is over, so a large log does not rewrite
+     * the build on every batch
      */
-    private static Map<String, String> getEnvVars(Run<?, ?> build, TaskListener listener) {
-        Map<String, String> messageEnvVars = new HashMap<>();
-        if (build != null) {
-            messageEnvVars.putAll(build.getCharacteristicEnvVars());
-            try {
-                messageEnvVars.putAll(build.getEnvironment(listener));
-            } catch (Exception e) {
-                listener.getLogger().printf("Couldn't get Env Variables: %s%n", e.getMessage());
+    private static class CheckpointWriter {
+
+        /**
+         * Build context
+         */
+        private final Run<?, ?> build;
+
+        /**
+         * Upload checkpoint or null
+         */
+        private final CoralogixUploadCheckpoint checkpoint;
+
+        /**
+         * Log file offset of the last saved checkpoint
+         */
+        private long savedOffset;
+
+        /**
+         * Last save time in nanoseconds
+         */
+        private long savedAt = System.nanoTime();
+
+        /**
+         * Initialize checkpoint writer
+         *
+         * @param build      build context
+         * @param checkpoint upload checkpoint or null
+         */
+        CheckpointWriter(Run<?, ?> build, CoralogixUploadCheckpoint checkpoint) {
+            this.build = build;
+            this.checkpoint = checkpoint;
+            this.savedOffset = checkpoint != null ? checkpoint.getOffset() : 0;
+        }
+
+        /**
+         * Record acknowledged build logs batches in the upload checkpoint
+         *
+         * @param mark  log file offset and log line sequence right after the acknowledged batches, or null
+         * @param force save the checkpoint even when the interval is not over
+         * @throws IOException
+         */
+        void acknowledge(Map.Entry<Long, Long> mark, boolean force) throws IOException {
+            if (checkpoint == null) {
+                return;
+            }
+            if (mark != null && mark.getKey() > 0) {
+                checkpoint.acknowledge(mark.getKey(), mark.getValue());
+            }
+            long now = System.nanoTime();
+            if (checkpoint.getOffset() != savedOffset && (force || now - savedAt >= CHECKPOINT_INTERVAL)) {
+                build.save();
+                savedOffset = checkpoint.getOffset();
+                savedAt = now;
             }
         }
-        return messageEnvVars;
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.coralogix.jenkins.utils;
+
+import com.cloudbees.plugins.credentials.Credentials;
+import com.cloudbees.plugins.credentials.CredentialsMatchers;
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.matchers.IdMatcher;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coralogix credentials cache
+ * Keeps resolved credentials by item and credential id until the credentials
+ * stores are changed or the entry expires
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class CredentialsCache {
+
+    /**
+     * Cache entry lifetime
+     */
+    private static final long TTL = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Resolved credentials by item, type and id
+     */
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * Credentials lookup
+     *
+     * @param type    credentials type
+     * @param context credentials item context
+     * @param id      credentials id
+     * @param <C>     credentials type
+     * @return credentials or null when not found
+     */
+    public static <C extends Credentials> C lookup(Class<C> type, Item context, String id) {
+        return lookup(type, context.getFullName(), id, () -> CredentialsProvider.lookupCredentials(
+            type,
+            context,
+            ACL.SYSTEM,
+            Collections.emptyList()
+        ));
+    }
+
+    /**
+     * Credentials lookup in a folder or in the global store
+     *
+     * @param type    credentials type
+     * @param context credentials folder context or Jenkins for the global store
+     * @param id      credentials id
+     * @param <C>     credentials type
+     * @return credentials or null when not found
+     */
+    public static <C extends Credentials> C lookup(Class<C> type, ItemGroup<?> context, String id) {
+        return lookup(type, context.getFullName(), id, () -> CredentialsProvider.lookupCredentials(
+            type,
+            context,
+            ACL.SYSTEM,
+            Collections.emptyList()
+        ));
+    }
+
+    /**
+     * Cached credentials lookup
+     *
+     * @param type        credentials type
+     * @param contextName credentials context full name
+     * @param id          credentials id
+     * @param candidates  credentials available in the context
+     * @param <C>         credentials type
+     * @return credentials or null when not found
+     */
+    private static <C extends Credentials> C lookup(Class<C> type, String contextName, String id, Supplier<List<C>> candidates) {
+        String key = type.getName() + ':' + contextName + ':' + id;
+        long now = System.currentTimeMillis();
+        Entry entry = ENTRIES.get(key);
+        if (entry != null && entry.expires > now && type.isInstance(entry.credential)) {
+            return type.cast(entry.credential);
+        }
+        C credential = CredentialsMatchers.firstOrNull(candidates.get(), new IdMatcher(id));
+        if (credential != null) {
+            ENTRIES.put(key, new Entry(credential, now + TTL));
+        } else {
+            ENTRIES.remove(key);
+        }
+        return credential;
+    }
+
+    /**
+     * Drop all cached credentials
+     */
+    public static void invalidate() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * Cached credentials
+     */
+    private static class Entry {
+
+        /**
+         * Resolved credentials
+         */
+        private final Credentials credential;
+
+        /**
+         * Expiration timestamp
+         */
+        private final long expires;
+
+        /**
+         * Initialize cached credentials
+         *
+         * @param credential resolved credentials
+         * @param expires    expiration timestamp
+         */
+        Entry(Credentials credential, long expires) {
+            this.credential = credential;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Credentials stores changes listener
+     * System, folder and user credentials are saved together with their owners
+     */
+    @Extension
+    public static class StoreListener extends SaveableListener {
+
+        /**
+         * Configuration save event
+         *
+         * @param o    saved object
+         * @param file saved file
+         */
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof SystemCredentialsProvider || o instanceof ItemGroup || o instanceof User) {
+                invalidate();
+            }
+        }
+    }
+}
\ No newline at end of file
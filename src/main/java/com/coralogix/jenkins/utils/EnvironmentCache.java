@@ -0,0 +1,87 @@
+package com.coralogix.jenkins.utils;
+
+import hudson.model.Run;
+import hudson.model.TaskListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Build environment variables cache
+ * Keeps the expanded variables of a build for a single step, so substituting
+ * all macros of the step computes the build environment only once. A new cache
+ * is made for every step, because parameters and environment contributing actions
+ * of the build may change between the steps
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class EnvironmentCache {
+
+    /**
+     * Build context
+     */
+    private final Run<?, ?> build;
+
+    /**
+     * Build listener context
+     */
+    private final TaskListener listener;
+
+    /**
+     * Environment variables, null until computed
+     */
+    private Map<String, String> envVars;
+
+    /**
+     * Initialize build environment variables cache
+     *
+     * @param build    build context
+     * @param listener build listener context
+     */
+    public EnvironmentCache(Run<?, ?> build, TaskListener listener) {
+        this.build = build;
+        this.listener = listener;
+    }
+
+    /**
+     * Build context getter
+     *
+     * @return build context
+     */
+    public Run<?, ?> getBuild() {
+        return build;
+    }
+
+    /**
+     * Build listener context getter
+     *
+     * @return build listener context
+     */
+    public TaskListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Build environment variables getter
+     * Failed environment lookups are not cached
+     *
+     * @return environment variables list
+     */
+    public Map<String, String> get() {
+        if (envVars != null) {
+            return envVars;
+        }
+        Map<String, String> environment = new HashMap<>(build.getCharacteristicEnvVars());
+        try {
+            environment.putAll(build.getEnvironment(listener));
+        } catch (Exception e) {
+            listener.getLogger().printf("Couldn't get Env Variables: %s%n", e.getMessage());
+            return environment;
+        }
+        envVars = Collections.unmodifiableMap(environment);
+        return envVars;
+    }
+}
\ No newline at end of file
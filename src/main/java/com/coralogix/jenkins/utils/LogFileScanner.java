@@ -0,0 +1,429 @@
+package com.coralogix.jenkins.utils;
+
+import hudson.console.ConsoleNote;
+import hudson.model.Run;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Build log lines scanner
+ * Reads the build log file with direct channel reads, finds line breaks
+ * at the byte level and decodes only the lines it emits
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class LogFileScanner {
+
+    /**
+     * Lines batch handler
+     */
+    public interface LineBatchHandler {
+
+        /**
+         * Handle lines batch
+         *
+         * @param lines  log lines in file order
+         * @param offset log file offset right after the batch, 0 when the log is not a plain file
+         * @throws Exception
+         */
+        void handle(List<String> lines, long offset) throws Exception;
+    }
+
+    /**
+     * Maximum number of lines in one batch
+     */
+    public static final int MAX_BATCH_LINES = 2000;
+
+    /**
+     * Maximum number of raw bytes in one batch
+     */
+    public static final int MAX_BATCH_BYTES = 1024 * 1024;
+
+    /**
+     * Read buffer size
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Log segment size processed by one task
+     */
+    private static final long SEGMENT_SIZE = 4L * 1024 * 1024;
+
+    /**
+     * Segments scanning pool
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()))
+    );
+
+    /**
+     * Scan build log and pass its lines to the handler in batches
+     *
+     * @param build   build context
+     * @param handler lines batch handler
+     * @throws Exception
+     */
+    public static void scan(Run<?, ?> build, LineBatchHandler handler) throws Exception {
+        scan(build, 0, handler);
+    }
+
+    /**
+     * Scan build log from the given offset and pass its lines to the handler in batches
+     *
+     * @param build   build context
+     * @param offset  log file offset to start from, ignored when the log is not a plain file
+     * @param handler lines batch handler
+     * @throws Exception
+     */
+    public static void scan(Run<?, ?> build, long offset, LineBatchHandler handler) throws Exception {
+        File logFile = build.getLogFile();
+        if (!logFile.isFile() || logFile.getName().endsWith(".gz")) {
+            emit(new Segment(build.getLog(Integer.MAX_VALUE), null), handler);
+            return;
+        }
+        Charset charset = build.getCharset();
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            List<Long> boundaries = findBoundaries(channel, Math.max(0, offset), channel.size());
+            if (boundaries.size() == 2) {
+                emit(new SegmentTask(channel, charset, boundaries.get(0), boundaries.get(1)).call(), handler);
+                return;
+            }
+            int window = POOL.getParallelism();
+            for (int i = 0; i < boundaries.size() - 1; i += window) {
+                List<ForkJoinTask<Segment>> tasks = new ArrayList<>();
+                for (int j = i; j < Math.min(i + window, boundaries.size() - 1); j++) {
+                    tasks.add(POOL.submit(new SegmentTask(channel, charset, boundaries.get(j), boundaries.get(j + 1))));
+                }
+                for (ForkJoinTask<Segment> task : tasks) {
+                    emit(task.join(), handler);
+                }
+            }
+        }
+    }
+
+    /**
+     * Split segment lines to batches
+     *
+     * @param segment log segment
+     * @param handler lines batch handler
+     * @throws Exception
+     */
+    private static void emit(Segment segment, LineBatchHandler handler) throws Exception {
+        List<String> batch = new ArrayList<>();
+        long batchBytes = 0;
+        for (int i = 0; i < segment.lines.size(); i++) {
+            String line = segment.lines.get(i);
+            if (!batch.isEmpty() && (batch.size() >= MAX_BATCH_LINES || batchBytes + line.length() > MAX_BATCH_BYTES)) {
+                handler.handle(batch, segment.end(i - 1));
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(line);
+            batchBytes += line.length();
+        }
+        if (!batch.isEmpty()) {
+            handler.handle(batch, segment.end(segment.lines.size() - 1));
+        }
+    }
+
+    /**
+     * Split log file to segments which start right after a line break
+     *
+     * @param channel log file channel
+     * @param start   scan start offset
+     * @param size    log file size
+     * @return segments boundaries including scan start and file end
+     * @throws IOException
+     */
+    private static List<Long> findBoundaries(FileChannel channel, long start, long size) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(Math.min(start, size));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        long position = start + SEGMENT_SIZE;
+        while (position < size) {
+            long lineEnd = -1;
+            while (lineEnd < 0 && position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lineEnd = position + i + 1;
+                        break;
+                    }
+                }
+                if (lineEnd < 0) {
+                    position += read;
+                }
+            }
+            if (lineEnd < 0 || lineEnd >= size) {
+                break;
+            }
+            boundaries.add(lineEnd);
+            position = lineEnd + SEGMENT_SIZE;
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    /**
+     * Scanned log segment
+     */
+    private static class Segment {
+
+        /**
+         * Segment lines
+         */
+        private final List<String> lines;
+
+        /**
+         * Log file offsets right after every line, null when the log is not a plain file
+         */
+        private final long[] ends;
+
+        /**
+         * Initialize scanned segment
+         *
+         * @param lines segment lines
+         * @param ends  log file offsets right after every line or null
+         */
+        Segment(List<String> lines, long[] ends) {
+            this.lines = lines;
+            this.ends = ends;
+        }
+
+        /**
+         * Line end offset getter
+         *
+         * @param index line index
+         * @return log file offset right after the line, 0 when the log is not a plain file
+         */
+        long end(int index) {
+            return ends != null ? ends[index] : 0;
+        }
+    }
+
+    /**
+     * Log segment scanning task
+     */
+    private static class SegmentTask implements Callable<Segment> {
+
+        /**
+         * Log file channel
+         */
+        private final FileChannel channel;
+
+        /**
+         * Log charset
+         */
+        private final Charset charset;
+
+        /**
+         * Segment start offset
+         */
+        private final long start;
+
+        /**
+         * Segment end offset
+         */
+        private final long end;
+
+        /**
+         * Current line bytes
+         */
+        private byte[] line = new byte[256];
+
+        /**
+         * Current line length
+         */
+        private int lineLength;
+
+        /**
+         * Current line contains console notes
+         */
+        private boolean lineAnnotated;
+
+        /**
+         * Log file offsets right after the scanned lines
+         */
+        private long[] ends = new long[1024];
+
+        /**
+         * Initialize segment task
+         *
+         * @param channel log file channel
+         * @param charset log charset
+         * @param start   segment start offset
+         * @param end     segment end offset
+         */
+        SegmentTask(FileChannel channel, Charset charset, long start, long end) {
+            this.channel = channel;
+            this.charset = charset;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Scan segment lines
+         *
+         * @return scanned segment
+         * @throws IOException
+         */
+        @Override
+        public Segment call() throws IOException {
+            List<String> lines = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            long position = start;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n') {
+                        lines.add(decode());
+                        mark(lines.size(), position + i + 1);
+                    } else {
+                        append(b);
+                    }
+                }
+                position += read;
+            }
+            if (lineLength > 0) {
+                lines.add(decode());
+                mark(lines.size(), position);
+            }
+            return new Segment(lines, ends);
+        }
+
+        /**
+         * Record line end offset
+         *
+         * @param count  lines scanned so far
+         * @param offset log file offset right after the line
+         */
+        private void mark(int count, long offset) {
+            if (count > ends.length) {
+                long[] grown = new long[ends.length * 2];
+                System.arraycopy(ends, 0, grown, 0, ends.length);
+                ends = grown;
+            }
+            ends[count - 1] = offset;
+        }
+
+        /**
+         * Append byte to the current line
+         *
+         * @param b line byte
+         */
+        private void append(byte b) {
+            if (lineLength == line.length) {
+                byte[] grown = new byte[line.length * 2];
+                System.arraycopy(line, 0, grown, 0, lineLength);
+                line = grown;
+            }
+            if (b == 0x1B) {
+                lineAnnotated = true;
+            }
+            line[lineLength++] = b;
+        }
+
+        /**
+         * Decode the current line and reset it
+         *
+         * @return decoded line without console notes
+         */
+        private String decode() {
+            int length = lineLength;
+            if (lineAnnotated) {
+                length = removeNotes(line, length);
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            String text = new String(line, 0, length, charset);
+            lineLength = 0;
+            lineAnnotated = false;
+            return text;
+        }
+    }
+
+    /**
+     * Remove console notes from the line bytes in place
+     *
+     * @param line   line bytes
+     * @param length line length
+     * @return line length without console notes
+     */
+    static int removeNotes(byte[] line, int length) {
+        int read = 0;
+        int write = 0;
+        while (read < length) {
+            if (startsWith(line, read, length, ConsoleNote.PREAMBLE)) {
+                int postamble = indexOf(line, read + ConsoleNote.PREAMBLE.length, length, ConsoleNote.POSTAMBLE);
+                if (postamble >= 0) {
+                    read = postamble + ConsoleNote.POSTAMBLE.length;
+                    continue;
+                }
+            }
+            line[write++] = line[read++];
+        }
+        return write;
+    }
+
+    /**
+     * Check bytes sequence at the offset
+     *
+     * @param data   data bytes
+     * @param offset check offset
+     * @param length data length
+     * @param prefix expected sequence
+     * @return check status
+     */
+    private static boolean startsWith(byte[] data, int offset, int length, byte[] prefix) {
+        if (length - offset < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find bytes sequence starting from the offset
+     *
+     * @param data   data bytes
+     * @param offset search offset
+     * @param length data length
+     * @param needle expected sequence
+     * @return sequence offset or -1
+     */
+    private static int indexOf(byte[] data, int offset, int length, byte[] needle) {
+        for (int i = offset; i <= length - needle.length; i++) {
+            if (startsWith(data, i, length, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
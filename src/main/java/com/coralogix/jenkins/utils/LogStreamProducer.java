@@ -0,0 +1,519 @@
+package com.coralogix.jenkins.utils;
+
+import com.google.gson.Gson;
+import hudson.Util;
+import hudson.console.ConsoleNote;
+import hudson.model.Run;
+import org.apache.http.entity.ContentProducer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+import com.coralogix.jenkins.model.Bulk;
+import com.coralogix.jenkins.model.Log;
+
+/**
+ * Build log request body producer
+ * Streams the build log file into a single log record of the logs bulk,
+ * escaping it on the fly, so the log is never fully loaded to memory
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class LogStreamProducer implements ContentProducer {
+
+    /**
+     * Log record text placeholder
+     */
+    private static final String TEXT_PLACEHOLDER = "@@coralogix-log-text@@";
+
+    /**
+     * Read and write buffers size
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Hexadecimal digits
+     */
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Unicode replacement character
+     */
+    private static final byte[] REPLACEMENT = "\uFFFD".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Build log file
+     */
+    private final File logFile;
+
+    /**
+     * Logs bulk JSON before the log text
+     */
+    private final byte[] prefix;
+
+    /**
+     * Logs bulk JSON after the log text
+     */
+    private final byte[] suffix;
+
+    /**
+     * Log lines read by the last write
+     */
+    private long lines;
+
+    /**
+     * Initialize request body producer
+     *
+     * @param logFile     build log file
+     * @param privateKey  Coralogix Private Key
+     * @param application application name
+     * @param subsystem   subsystem name
+     * @param threadId    Thread ID
+     */
+    public LogStreamProducer(File logFile, String privateKey, String application, String subsystem, String threadId) {
+        this.logFile = logFile;
+        String json = new Gson().toJson(new Bulk(
+            privateKey,
+            application,
+            subsystem,
+            Util.getHostName(),
+            Collections.singletonList(new Log(
+                1,
+                TEXT_PLACEHOLDER,
+                "job",
+                "",
+                "",
+                threadId
+            ))
+        ));
+        int textIndex = json.indexOf(TEXT_PLACEHOLDER);
+        this.prefix = json.substring(0, textIndex).getBytes(StandardCharsets.UTF_8);
+        this.suffix = json.substring(textIndex + TEXT_PLACEHOLDER.length()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check that build log can be streamed as is
+     *
+     * @param build build context
+     * @return streaming availability
+     */
+    public static boolean isSupported(Run<?, ?> build) {
+        File logFile = build.getLogFile();
+        Charset charset = build.getCharset();
+        return logFile.isFile()
+            && !logFile.getName().endsWith(".gz")
+            && (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset));
+    }
+
+    /**
+     * Log lines getter
+     *
+     * @return log lines read by the last write
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Write logs bulk to the request body
+     *
+     * @param outstream request body stream
+     * @throws IOException
+     */
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        lines = 0;
+        outstream.write(this.prefix);
+        try (FileChannel channel = FileChannel.open(this.logFile.toPath(), StandardOpenOption.READ)) {
+            TextEncoder encoder = new TextEncoder(outstream);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), size - position));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n') {
+                        lines++;
+                    }
+                    encoder.accept(b);
+                }
+                position += read;
+            }
+            if (encoder.lineOpen) {
+                lines++;
+            }
+            encoder.finish();
+        }
+        outstream.write(this.suffix);
+        outstream.flush();
+    }
+
+    /**
+     * Streaming log text encoder
+     * Removes console notes, joins lines with line feeds, replaces malformed
+     * UTF-8 sequences and escapes the text as a JSON string
+     */
+    static class TextEncoder {
+
+        /**
+         * Plain text state
+         */
+        private static final int TEXT = 0;
+
+        /**
+         * Console note preamble matching state
+         */
+        private static final int PREAMBLE = 1;
+
+        /**
+         * Console note body state
+         */
+        private static final int NOTE = 2;
+
+        /**
+         * Request body stream
+         */
+        private final OutputStream out;
+
+        /**
+         * Output buffer
+         */
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        /**
+         * Output buffer length
+         */
+        private int length;
+
+        /**
+         * Bytes held while console note is being matched
+         */
+        private final byte[] held = new byte[BUFFER_SIZE];
+
+        /**
+         * Held bytes length
+         */
+        private int heldLength;
+
+        /**
+         * Console note matching state
+         */
+        private int state = TEXT;
+
+        /**
+         * Matched console note postamble length
+         */
+        private int postambleMatch;
+
+        /**
+         * Carriage return waiting for the next byte
+         */
+        private boolean pendingReturn;
+
+        /**
+         * Line feed waiting for the next line
+         */
+        private boolean pendingNewline;
+
+        /**
+         * Last raw byte was not a line feed
+         */
+        private boolean lineOpen;
+
+        /**
+         * Current UTF-8 sequence
+         */
+        private final byte[] sequence = new byte[4];
+
+        /**
+         * Current UTF-8 sequence length
+         */
+        private int sequenceLength;
+
+        /**
+         * Missed UTF-8 continuation bytes
+         */
+        private int expected;
+
+        /**
+         * Initialize encoder
+         *
+         * @param out request body stream
+         */
+        TextEncoder(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Accept raw log byte
+         *
+         * @param b log byte
+         * @throws IOException
+         */
+        void accept(byte b) throws IOException {
+            lineOpen = b != '\n';
+            switch (state) {
+                case PREAMBLE:
+                    if (b == ConsoleNote.PREAMBLE[heldLength]) {
+                        held[heldLength++] = b;
+                        if (heldLength == ConsoleNote.PREAMBLE.length) {
+                            state = NOTE;
+                            postambleMatch = 0;
+                        }
+                        return;
+                    }
+                    releaseHeld();
+                    accept(b);
+                    return;
+                case NOTE:
+                    held[heldLength++] = b;
+                    if (b == '\n' || heldLength == held.length) {
+                        releaseHeld();
+                        return;
+                    }
+                    if (b == ConsoleNote.POSTAMBLE[postambleMatch]) {
+                        postambleMatch++;
+                        if (postambleMatch == ConsoleNote.POSTAMBLE.length) {
+                            heldLength = 0;
+                            state = TEXT;
+                        }
+                    } else {
+                        postambleMatch = b == ConsoleNote.POSTAMBLE[0] ? 1 : 0;
+                    }
+                    return;
+                default:
+                    if (b == ConsoleNote.PREAMBLE[0]) {
+                        held[heldLength++] = b;
+                        state = PREAMBLE;
+                        return;
+                    }
+                    text(b);
+            }
+        }
+
+        /**
+         * Flush the rest of the text
+         *
+         * @throws IOException
+         */
+        void finish() throws IOException {
+            if (state != TEXT) {
+                releaseHeld();
+            }
+            if (expected > 0) {
+                replace();
+            }
+            if (pendingNewline && lineOpen) {
+                utf8((byte) '\n');
+            }
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+
+        /**
+         * Pass held bytes as plain text
+         *
+         * @throws IOException
+         */
+        private void releaseHeld() throws IOException {
+            state = TEXT;
+            for (int i = 0; i < heldLength; i++) {
+                text(held[i]);
+            }
+            heldLength = 0;
+        }
+
+        /**
+         * Accept plain text byte and normalize line endings
+         *
+         * @param b text byte
+         * @throws IOException
+         */
+        private void text(byte b) throws IOException {
+            if (pendingReturn) {
+                pendingReturn = false;
+                if (b == '\n') {
+                    newline();
+                    return;
+                }
+                character((byte) '\r');
+            }
+            if (b == '\r') {
+                pendingReturn = true;
+            } else if (b == '\n') {
+                newline();
+            } else {
+                character(b);
+            }
+        }
+
+        /**
+         * Accept line break, the last one is skipped
+         *
+         * @throws IOException
+         */
+        private void newline() throws IOException {
+            if (pendingNewline) {
+                utf8((byte) '\n');
+            }
+            pendingNewline = true;
+        }
+
+        /**
+         * Accept line character byte
+         *
+         * @param b character byte
+         * @throws IOException
+         */
+        private void character(byte b) throws IOException {
+            if (pendingNewline) {
+                pendingNewline = false;
+                utf8((byte) '\n');
+            }
+            utf8(b);
+        }
+
+        /**
+         * Validate UTF-8 sequences
+         *
+         * @param b character byte
+         * @throws IOException
+         */
+        private void utf8(byte b) throws IOException {
+            if (expected > 0) {
+                if ((b & 0xC0) == 0x80 && (sequenceLength > 1 || isSecondByte(sequence[0], b))) {
+                    sequence[sequenceLength++] = b;
+                    if (--expected == 0) {
+                        ensure(sequenceLength);
+                        System.arraycopy(sequence, 0, buffer, length, sequenceLength);
+                        length += sequenceLength;
+                    }
+                    return;
+                }
+                replace();
+            }
+            int unsigned = b & 0xFF;
+            if (unsigned < 0x80) {
+                escape(b);
+                return;
+            }
+            if (unsigned >= 0xC2 && unsigned <= 0xDF) {
+                expected = 1;
+            } else if (unsigned >= 0xE0 && unsigned <= 0xEF) {
+                expected = 2;
+            } else if (unsigned >= 0xF0 && unsigned <= 0xF4) {
+                expected = 3;
+            } else {
+                replace();
+                return;
+            }
+            sequence[0] = b;
+            sequenceLength = 1;
+        }
+
+        /**
+         * Check second byte of a multi-byte sequence
+         * Rejects overlong forms, surrogates and code points above U+10FFFF
+         *
+         * @param lead first byte of the sequence
+         * @param b    continuation byte
+         * @return true when the sequence may continue with the byte
+         */
+        private static boolean isSecondByte(byte lead, byte b) {
+            int unsigned = b & 0xFF;
+            switch (lead & 0xFF) {
+                case 0xE0:
+                    return unsigned >= 0xA0;
+                case 0xED:
+                    return unsigned <= 0x9F;
+                case 0xF0:
+                    return unsigned >= 0x90;
+                case 0xF4:
+                    return unsigned <= 0x8F;
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * Replace malformed UTF-8 sequence
+         *
+         * @throws IOException
+         */
+        private void replace() throws IOException {
+            expected = 0;
+            sequenceLength = 0;
+            ensure(REPLACEMENT.length);
+            System.arraycopy(REPLACEMENT, 0, buffer, length, REPLACEMENT.length);
+            length += REPLACEMENT.length;
+        }
+
+        /**
+         * Escape ASCII character for JSON string
+         *
+         * @param b ASCII character
+         * @throws IOException
+         */
+        private void escape(byte b) throws IOException {
+            ensure(6);
+            switch (b) {
+                case '"':
+                case '\\':
+                    buffer[length++] = '\\';
+                    buffer[length++] = b;
+                    break;
+                case '\n':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'n';
+                    break;
+                case '\r':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'r';
+                    break;
+                case '\t':
+                    buffer[length++] = '\\';
+                    buffer[length++] = 't';
+                    break;
+                default:
+                    if (b < 0x20) {
+                        buffer[length++] = '\\';
+                        buffer[length++] = 'u';
+                        buffer[length++] = '0';
+                        buffer[length++] = '0';
+                        buffer[length++] = HEX[b >> 4];
+                        buffer[length++] = HEX[b & 0xF];
+                    } else {
+                        buffer[length++] = b;
+                    }
+            }
+        }
+
+        /**
+         * Flush output buffer when it has not enough space
+         *
+         * @param size required space
+         * @throws IOException
+         */
+        private void ensure(int size) throws IOException {
+            if (buffer.length - length < size) {
+                out.write(buffer, 0, length);
+                length = 0;
+            }
+        }
+    }
+}
\ No newline at end of file
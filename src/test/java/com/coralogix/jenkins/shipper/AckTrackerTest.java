@@ -0,0 +1,206 @@
+package com.coralogix.jenkins.shipper;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Acknowledgements tracker tests
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class AckTrackerTest {
+
+    /**
+     * Batches acknowledged in order move the mark one by one
+     *
+     * @throws Exception
+     */
+    @Test
+    public void acknowledgesInOrder() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(4);
+        long first = tracker.open("a");
+        long second = tracker.open("b");
+        assertNull(tracker.take());
+        tracker.acknowledge(first, null);
+        assertEquals("a", tracker.take());
+        assertNull(tracker.take());
+        tracker.acknowledge(second, null);
+        assertEquals("b", tracker.take());
+        tracker.await();
+    }
+
+    /**
+     * The mark only moves over a contiguous run of acknowledged batches
+     *
+     * @throws Exception
+     */
+    @Test
+    public void acknowledgesContiguousRunOnly() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(4);
+        long first = tracker.open("a");
+        long second = tracker.open("b");
+        long third = tracker.open("c");
+        tracker.acknowledge(third, null);
+        assertNull(tracker.take());
+        tracker.acknowledge(second, null);
+        assertNull(tracker.take());
+        tracker.acknowledge(first, null);
+        assertEquals("c", tracker.take());
+        tracker.await();
+    }
+
+    /**
+     * A repeated acknowledgement is ignored
+     *
+     * @throws Exception
+     */
+    @Test
+    public void ignoresRepeatedAcknowledgement() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(2);
+        long first = tracker.open("a");
+        long second = tracker.open("b");
+        tracker.acknowledge(second, null);
+        tracker.acknowledge(second, null);
+        assertNull(tracker.take());
+        tracker.acknowledge(first, null);
+        assertEquals("b", tracker.take());
+        tracker.await();
+    }
+
+    /**
+     * A failed batch stops the mark and fails opening and waiting with its error
+     */
+    @Test
+    public void propagatesFirstFailure() {
+        AckTracker<String> tracker = new AckTracker<>(4);
+        IllegalStateException error = new IllegalStateException("failed");
+        long first;
+        long second;
+        try {
+            first = tracker.open("a");
+            second = tracker.open("b");
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        tracker.acknowledge(first, error);
+        tracker.acknowledge(second, new IllegalArgumentException("later"));
+        assertNull(tracker.take());
+        try {
+            tracker.open("c");
+            fail("open must fail after a batch failed");
+        } catch (Exception e) {
+            assertSame(error, e);
+        }
+        try {
+            tracker.await();
+            fail("await must fail after a batch failed");
+        } catch (Exception e) {
+            assertSame(error, e);
+        }
+    }
+
+    /**
+     * Batches acknowledged before the failed one still move the mark
+     *
+     * @throws Exception
+     */
+    @Test
+    public void keepsMarkBeforeFailure() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(4);
+        long first = tracker.open("a");
+        long second = tracker.open("b");
+        long third = tracker.open("c");
+        tracker.acknowledge(first, null);
+        tracker.acknowledge(third, null);
+        tracker.acknowledge(second, new IllegalStateException("failed"));
+        assertEquals("a", tracker.take());
+        assertNull(tracker.take());
+    }
+
+    /**
+     * Errors which are not exceptions are wrapped
+     *
+     * @throws Exception
+     */
+    @Test
+    public void wrapsErrors() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(1);
+        AssertionError error = new AssertionError("failed");
+        tracker.acknowledge(tracker.open("a"), error);
+        try {
+            tracker.await();
+            fail("await must fail after a batch failed");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+
+    /**
+     * Opening waits while the window is full
+     *
+     * @throws Exception
+     */
+    @Test
+    public void waitsForFreeWindow() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(1);
+        long first = tracker.open("a");
+        CountDownLatch opened = new CountDownLatch(1);
+        AtomicLong second = new AtomicLong(-1);
+        Thread opener = new Thread(() -> {
+            try {
+                second.set(tracker.open("b"));
+                opened.countDown();
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        opener.start();
+        assertFalse(opened.await(200, TimeUnit.MILLISECONDS));
+        tracker.acknowledge(first, null);
+        assertTrue(opened.await(5, TimeUnit.SECONDS));
+        opener.join();
+        assertEquals(first + 1, second.get());
+        tracker.acknowledge(second.get(), null);
+        tracker.await();
+        assertEquals("b", tracker.take());
+    }
+
+    /**
+     * A failure wakes up a sender waiting for a free window
+     *
+     * @throws Exception
+     */
+    @Test
+    public void failureReleasesWaitingOpen() throws Exception {
+        AckTracker<String> tracker = new AckTracker<>(1);
+        long first = tracker.open("a");
+        IllegalStateException error = new IllegalStateException("failed");
+        CountDownLatch failed = new CountDownLatch(1);
+        Thread opener = new Thread(() -> {
+            try {
+                tracker.open("b");
+            } catch (Exception e) {
+                if (e == error) {
+                    failed.countDown();
+                }
+            }
+        });
+        opener.start();
+        tracker.acknowledge(first, error);
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        opener.join();
+    }
+}
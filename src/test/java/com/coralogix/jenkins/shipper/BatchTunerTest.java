@@ -0,0 +1,134 @@
+package com.coralogix.jenkins.shipper;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Adaptive bulk size and linger time controller tests, run with the default bounds
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class BatchTunerTest {
+
+    /**
+     * Fast request time in nanoseconds
+     */
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Request time above the default target latency in nanoseconds
+     */
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * Bulk size and linger time start from the floors
+     */
+    @Test
+    public void startsFromFloors() {
+        BatchTuner tuner = new BatchTuner();
+        assertEquals(100, tuner.getBatchSize());
+        assertEquals(200, tuner.getLinger());
+    }
+
+    /**
+     * Fast bulks grow the bulk size by a step up to the ceiling, the linger time stays at its floor
+     */
+    @Test
+    public void increasesAdditivelyUpToCeiling() {
+        BatchTuner tuner = new BatchTuner();
+        tuner.record(FAST, true);
+        assertEquals(150, tuner.getBatchSize());
+        assertEquals(200, tuner.getLinger());
+        for (int i = 0; i < 100; i++) {
+            tuner.record(FAST, true);
+        }
+        assertEquals(2000, tuner.getBatchSize());
+        assertEquals(200, tuner.getLinger());
+        assertEquals(101L, tuner.snapshot().get("increases"));
+    }
+
+    /**
+     * A failed bulk halves the bulk size and doubles the linger time
+     */
+    @Test
+    public void decreasesMultiplicativelyOnFailure() {
+        BatchTuner tuner = new BatchTuner();
+        for (int i = 0; i < 20; i++) {
+            tuner.record(FAST, true);
+        }
+        assertEquals(1100, tuner.getBatchSize());
+        tuner.record(FAST, false);
+        assertEquals(550, tuner.getBatchSize());
+        assertEquals(400, tuner.getLinger());
+    }
+
+    /**
+     * Failures of the bulks in flight do not decrease the values again within the target latency
+     */
+    @Test
+    public void decreasesOncePerTargetLatency() {
+        BatchTuner tuner = new BatchTuner();
+        for (int i = 0; i < 20; i++) {
+            tuner.record(FAST, true);
+        }
+        tuner.record(FAST, false);
+        tuner.record(FAST, false);
+        tuner.record(FAST, false);
+        assertEquals(550, tuner.getBatchSize());
+        assertEquals(400, tuner.getLinger());
+        assertEquals(1L, tuner.snapshot().get("decreases"));
+    }
+
+    /**
+     * A successful bulk slower than the target latency decreases the values
+     */
+    @Test
+    public void decreasesOnSlowBulks() {
+        BatchTuner tuner = new BatchTuner();
+        for (int i = 0; i < 4; i++) {
+            tuner.record(FAST, true);
+        }
+        assertEquals(300, tuner.getBatchSize());
+        BatchTuner slow = new BatchTuner();
+        slow.record(SLOW, true);
+        assertEquals(100, slow.getBatchSize());
+        assertEquals(400, slow.getLinger());
+        assertEquals(0L, slow.snapshot().get("increases"));
+    }
+
+    /**
+     * The smoothed latency keeps a single fast bulk after slow ones from increasing the values
+     */
+    @Test
+    public void smoothsLatency() {
+        BatchTuner tuner = new BatchTuner();
+        tuner.record(SLOW, true);
+        tuner.record(FAST, true);
+        assertEquals(100, tuner.getBatchSize());
+        assertEquals(400, tuner.getLinger());
+        assertEquals(0L, tuner.snapshot().get("increases"));
+    }
+
+    /**
+     * Values never go below the floors
+     */
+    @Test
+    public void keepsFloors() {
+        BatchTuner tuner = new BatchTuner();
+        tuner.record(FAST, false);
+        assertEquals(100, tuner.getBatchSize());
+        assertEquals(400, tuner.getLinger());
+        tuner.record(FAST, true);
+        tuner.record(FAST, true);
+        tuner.record(FAST, true);
+        tuner.record(FAST, true);
+        tuner.record(FAST, true);
+        assertEquals(350, tuner.getBatchSize());
+        assertEquals(200, tuner.getLinger());
+    }
+}
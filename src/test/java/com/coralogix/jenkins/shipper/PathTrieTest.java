@@ -0,0 +1,139 @@
+package com.coralogix.jenkins.shipper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Item path patterns trie tests
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class PathTrieTest {
+
+    /**
+     * Literal patterns match whole paths only
+     */
+    @Test
+    public void matchesLiteralPaths() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/app", "app");
+        trie.add("team", "team");
+        assertEquals("app", trie.match("team/app"));
+        assertEquals("team", trie.match("team"));
+        assertNull(trie.match("team/app/main"));
+        assertNull(trie.match("other/app"));
+        assertNull(trie.match(""));
+    }
+
+    /**
+     * The pattern added first wins whatever its specificity
+     */
+    @Test
+    public void firstAddedPatternWins() {
+        PathTrie<String> broad = new PathTrie<>();
+        broad.add("team/**", "broad");
+        broad.add("team/app", "exact");
+        assertEquals("broad", broad.match("team/app"));
+
+        PathTrie<String> exact = new PathTrie<>();
+        exact.add("team/app", "exact");
+        exact.add("team/**", "broad");
+        assertEquals("exact", exact.match("team/app"));
+        assertEquals("broad", exact.match("team/lib"));
+    }
+
+    /**
+     * A repeated pattern keeps its first value but is still counted
+     */
+    @Test
+    public void repeatedPatternKeepsFirstValue() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/*", "first");
+        trie.add("team/*", "second");
+        assertEquals("first", trie.match("team/app"));
+        assertEquals(2, trie.size());
+    }
+
+    /**
+     * A single star matches exactly one segment
+     */
+    @Test
+    public void starMatchesOneSegment() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/*/main", "main");
+        assertEquals("main", trie.match("team/app/main"));
+        assertNull(trie.match("team/main"));
+        assertNull(trie.match("team/app/lib/main"));
+    }
+
+    /**
+     * A double star matches any number of segments, none included
+     */
+    @Test
+    public void doubleStarMatchesAnySegments() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/**", "team");
+        trie.add("**/release", "release");
+        assertEquals("team", trie.match("team"));
+        assertEquals("team", trie.match("team/app"));
+        assertEquals("team", trie.match("team/app/main"));
+        assertEquals("release", trie.match("release"));
+        assertEquals("release", trie.match("other/app/release"));
+        assertNull(trie.match("other/app"));
+    }
+
+    /**
+     * A double star in the middle may match no segments
+     */
+    @Test
+    public void doubleStarInTheMiddle() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/**/main", "main");
+        assertEquals("main", trie.match("team/main"));
+        assertEquals("main", trie.match("team/app/main"));
+        assertEquals("main", trie.match("team/app/lib/main"));
+        assertNull(trie.match("team/app/lib"));
+    }
+
+    /**
+     * Wildcards inside a segment never cross segment boundaries
+     */
+    @Test
+    public void segmentGlobs() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/app-*", "app");
+        trie.add("team/job?", "job");
+        assertEquals("app", trie.match("team/app-"));
+        assertEquals("app", trie.match("team/app-main"));
+        assertNull(trie.match("team/app-main/lib"));
+        assertEquals("job", trie.match("team/job1"));
+        assertNull(trie.match("team/job"));
+        assertNull(trie.match("team/job12"));
+    }
+
+    /**
+     * Glob special characters of regular expressions are matched literally
+     */
+    @Test
+    public void globQuotesRegexCharacters() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("team/app.(v1)*", "app");
+        assertEquals("app", trie.match("team/app.(v1)-main"));
+        assertNull(trie.match("team/appx(v1)-main"));
+    }
+
+    /**
+     * Leading, trailing and repeated slashes are ignored
+     */
+    @Test
+    public void normalizesSlashes() {
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("/team//app/", "app");
+        assertEquals("app", trie.match("team/app"));
+        assertEquals("app", trie.match("//team/app//"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.coralogix.jenkins.shipper;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Outbound traffic token bucket tests
+ * Buckets run on a simulated clock which only moves while a sender waits for tokens
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class RateLimiterTest {
+
+    /**
+     * Simulated time in nanoseconds
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Takes never wait when the rate is not limited
+     *
+     * @throws Exception
+     */
+    @Test
+    public void unlimitedRateNeverWaits() throws Exception {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(clock::get, (turn, nanos) -> fail("waited " + nanos + " ns"));
+        for (int i = 0; i < 1000; i++) {
+            bucket.acquire("job", Long.MAX_VALUE, 0, 1);
+        }
+    }
+
+    /**
+     * A full bucket allows a burst, then takes wait for the refill
+     *
+     * @throws Exception
+     */
+    @Test
+    public void burstThenRate() throws Exception {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(clock::get, (turn, nanos) -> clock.addAndGet(nanos));
+        bucket.acquire("job", 1000, 1000, 1);
+        assertEquals("burst must not wait", 0, clock.get());
+        bucket.acquire("job", 100, 1000, 1);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), clock.get());
+    }
+
+    /**
+     * Tokens saved while idle are capped by the burst length
+     *
+     * @throws Exception
+     */
+    @Test
+    public void idleRefillIsCapped() throws Exception {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(clock::get, (turn, nanos) -> clock.addAndGet(nanos));
+        bucket.acquire("job", 2000, 1000, 2);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        long idle = clock.get();
+        bucket.acquire("job", 2000, 1000, 2);
+        assertEquals("a full bucket must not wait", idle, clock.get());
+        bucket.acquire("job", 1000, 1000, 2);
+        assertEquals(idle + TimeUnit.SECONDS.toNanos(1), clock.get());
+    }
+
+    /**
+     * A take larger than the bucket leaves a debt paid by the next takes
+     *
+     * @throws Exception
+     */
+    @Test
+    public void largeTakeLeavesDebt() throws Exception {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(clock::get, (turn, nanos) -> clock.addAndGet(nanos));
+        bucket.acquire("job", 20000, 10000, 1);
+        assertEquals("a full bucket grants a large take", 0, clock.get());
+        bucket.acquire("job", 1, 10000, 1);
+        assertEquals("the debt of 3616 tokens and the take are paid at 10000 tokens per second",
+            TimeUnit.MICROSECONDS.toNanos(361700), clock.get());
+    }
+
+    /**
+     * Waiting jobs take turns whatever the number of their senders
+     *
+     * @throws Exception
+     */
+    @Test
+    public void jobsTakeTurns() throws Exception {
+        String[] jobs = {"busy", "busy", "busy", "quiet"};
+        int grantsCount = 20;
+        AtomicBoolean stopped = new AtomicBoolean();
+        RateLimiter.Bucket[] holder = new RateLimiter.Bucket[1];
+        // a sender waiting for tokens is woken only once all senders wait again,
+        // and senders waiting at the same time take the same refill
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(clock::get, (turn, nanos) -> {
+            long refilled = clock.get() + nanos;
+            while (holder[0].waiters() < jobs.length && !stopped.get()) {
+                turn.awaitNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            clock.accumulateAndGet(refilled, Math::max);
+        });
+        holder[0] = bucket;
+        bucket.acquire("warmup", 1000, 1000, 1);
+        List<String> grants = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> senders = new ArrayList<>();
+        for (String job : jobs) {
+            Thread sender = new Thread(() -> {
+                try {
+                    while (!stopped.get()) {
+                        bucket.acquire(job, 100, 1000, 1);
+                        grants.add(job);
+                        if (grants.size() >= grantsCount) {
+                            stopped.set(true);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // stopped by the test
+                }
+            });
+            senders.add(sender);
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            sender.join(TimeUnit.SECONDS.toMillis(30));
+            assertFalse("sender is stuck", sender.isAlive());
+        }
+        List<String> order = grants.subList(0, grantsCount);
+        for (int i = 1; i < order.size(); i++) {
+            assertNotEquals("grants " + order, order.get(i - 1), order.get(i));
+        }
+        assertEquals(grantsCount / 2, Collections.frequency(order, "quiet"));
+        assertTrue("every grant waits for the refill of its own tokens",
+            clock.get() >= TimeUnit.MILLISECONDS.toNanos(100) * grantsCount);
+    }
+}
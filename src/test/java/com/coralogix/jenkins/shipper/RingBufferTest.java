@@ -0,0 +1,185 @@
+package com.coralogix.jenkins.shipper;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Bounded lock-free queue tests
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class RingBufferTest {
+
+    /**
+     * Elements offered by every producer of the concurrent test
+     */
+    private static final int PER_PRODUCER = 200000;
+
+    /**
+     * Capacity is rounded up to a power of two
+     */
+    @Test
+    public void roundsCapacityUp() {
+        assertEquals(2, new RingBuffer<>(1).capacity());
+        assertEquals(8, new RingBuffer<>(5).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+        assertEquals(4096, new RingBuffer<>(4096).capacity());
+    }
+
+    /**
+     * An empty ring returns nothing
+     */
+    @Test
+    public void pollsNothingWhenEmpty() {
+        RingBuffer<String> ring = new RingBuffer<>(4);
+        assertNull(ring.poll());
+        assertEquals(0, ring.size());
+        assertEquals(4, ring.remainingCapacity());
+        assertTrue(ring.offer("a"));
+        assertEquals("a", ring.poll());
+        assertNull(ring.poll());
+    }
+
+    /**
+     * A full ring rejects elements until one is taken
+     */
+    @Test
+    public void rejectsWhenFull() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+        assertEquals(0, ring.remainingCapacity());
+        assertEquals(Integer.valueOf(0), ring.poll());
+        assertEquals(1, ring.remainingCapacity());
+        assertTrue(ring.offer(4));
+        assertFalse(ring.offer(5));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(Integer.valueOf(i), ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    /**
+     * Elements keep their order while the positions wrap around the ring
+     */
+    @Test
+    public void keepsOrderAcrossWraps() {
+        RingBuffer<Integer> ring = new RingBuffer<>(8);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 1000; round++) {
+            int count = round % 8 + 1;
+            for (int i = 0; i < count; i++) {
+                assertTrue(ring.offer(next++));
+            }
+            for (int i = 0; i < count; i++) {
+                assertEquals(Integer.valueOf(expected++), ring.poll());
+            }
+            assertNull(ring.poll());
+        }
+    }
+
+    /**
+     * Concurrent producers and consumers neither lose nor duplicate elements,
+     * and every consumer takes the elements of a producer in their order
+     *
+     * @throws Exception
+     */
+    @Test
+    public void concurrentProducersAndConsumers() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int total = producers * PER_PRODUCER;
+        RingBuffer<Integer> ring = new RingBuffer<>(64);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                await(start);
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    Integer element = producer * PER_PRODUCER + i;
+                    while (!ring.offer(element)) {
+                        rejected.incrementAndGet();
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                while (consumed.get() < total) {
+                    Integer element = ring.poll();
+                    if (element == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    consumed.incrementAndGet();
+                    if (seen.incrementAndGet(element) != 1) {
+                        failure.compareAndSet(null, "element " + element + " taken twice");
+                    }
+                    int producer = element / PER_PRODUCER;
+                    int index = element % PER_PRODUCER;
+                    if (index <= last[producer]) {
+                        failure.compareAndSet(null, "element " + element + " taken after " + last[producer]);
+                    }
+                    last[producer] = index;
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.MINUTES.toMillis(2));
+            assertFalse("thread is stuck", thread.isAlive());
+        }
+        assertNull(failure.get());
+        assertEquals(total, consumed.get());
+        for (int i = 0; i < total; i++) {
+            assertEquals("element " + i, 1, seen.get(i));
+        }
+        assertNull(ring.poll());
+        assertEquals(0, ring.size());
+        assertTrue("the ring was never full", rejected.get() > 0);
+    }
+
+    /**
+     * Wait for the start signal
+     *
+     * @param start start signal
+     */
+    private static void await(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
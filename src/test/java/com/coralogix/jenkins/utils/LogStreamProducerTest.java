@@ -0,0 +1,287 @@
+package com.coralogix.jenkins.utils;
+
+import hudson.console.ConsoleNote;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Build log request body producer tests
+ *
+ * @author Eldar Aliiev
+ * @version 1.2.0
+ * @since 2026-10-19
+ */
+public class LogStreamProducerTest {
+
+    /**
+     * Read and write buffers size of the producer
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Unicode replacement character
+     */
+    private static final String REPLACEMENT = "\uFFFD";
+
+    /**
+     * Quotes and backslashes are escaped
+     *
+     * @throws Exception
+     */
+    @Test
+    public void escapesQuotesAndBackslashes() throws Exception {
+        assertEquals("say \\\"hi\\\" to C:\\\\path", encode("say \"hi\" to C:\\path"));
+    }
+
+    /**
+     * Control characters are escaped, other ASCII characters are kept
+     *
+     * @throws Exception
+     */
+    @Test
+    public void escapesControlCharacters() throws Exception {
+        assertEquals("a\\tb\\u0001c\\u001bd\\u001f\u007f~", encode("a\tb\u0001c\u001bd\u001f\u007f~"));
+    }
+
+    /**
+     * Console notes are removed from the text
+     *
+     * @throws Exception
+     */
+    @Test
+    public void stripsConsoleNotes() throws Exception {
+        String note = ConsoleNote.PREAMBLE_STR + "rO0ABXNyAA==" + ConsoleNote.POSTAMBLE_STR;
+        assertEquals("before after\\nnext", encode("before " + note + "after\n" + note + "next\n"));
+    }
+
+    /**
+     * A console note cut by a line break is kept as text
+     *
+     * @throws Exception
+     */
+    @Test
+    public void keepsUnterminatedConsoleNote() throws Exception {
+        assertEquals("\\u001b[8mha:abc\\nx", encode(ConsoleNote.PREAMBLE_STR + "abc\nx"));
+    }
+
+    /**
+     * A partial console note preamble is kept as text
+     *
+     * @throws Exception
+     */
+    @Test
+    public void keepsPartialPreamble() throws Exception {
+        assertEquals("\\u001b[8mhz", encode("\u001b[8mhz"));
+        assertEquals("x\\u001b[8m", encode("x\u001b[8m"));
+    }
+
+    /**
+     * A console note longer than the buffer is kept as text
+     *
+     * @throws Exception
+     */
+    @Test
+    public void keepsOversizedConsoleNote() throws Exception {
+        String body = repeat('b', BUFFER_SIZE + 100);
+        assertEquals("\\u001b[8mha:" + body + "c", encode(ConsoleNote.PREAMBLE_STR + body + "c"));
+    }
+
+    /**
+     * Line breaks are joined with line feeds, a lone carriage return is kept
+     *
+     * @throws Exception
+     */
+    @Test
+    public void normalizesLineBreaks() throws Exception {
+        assertEquals("a\\nb\\nc", encode("a\r\nb\r\nc\r\n"));
+        assertEquals("a\\nb", encode("a\r\nb"));
+        assertEquals("a\\rb", encode("a\rb"));
+        assertEquals("a\\r\\nb", encode("a\r\r\nb"));
+    }
+
+    /**
+     * The last line break is skipped, so logs with and without it are sent the same
+     *
+     * @throws Exception
+     */
+    @Test
+    public void skipsLastLineBreak() throws Exception {
+        assertEquals("a\\nb", encode("a\nb"));
+        assertEquals("a\\nb", encode("a\nb\n"));
+        assertEquals("a\\n", encode("a\n\n"));
+        assertEquals("\\nb", encode("\nb"));
+        assertEquals("", encode(""));
+    }
+
+    /**
+     * Valid multi-byte characters are kept
+     *
+     * @throws Exception
+     */
+    @Test
+    public void keepsMultiByteCharacters() throws Exception {
+        assertEquals("caf\u00e9 \u20ac \uD83D\uDE00", encode("caf\u00e9 \u20ac \uD83D\uDE00"));
+    }
+
+    /**
+     * Malformed sequences are replaced, the bytes which follow them are kept
+     *
+     * @throws Exception
+     */
+    @Test
+    public void replacesInvalidSequences() throws Exception {
+        assertEquals(REPLACEMENT + REPLACEMENT + "a", encode(bytes(0xC0, 0xAF, 'a')));
+        assertEquals("a" + REPLACEMENT + "b", encode(bytes('a', 0xFF, 'b')));
+        assertEquals(REPLACEMENT, encode(bytes(0x80)));
+        assertEquals(REPLACEMENT + "(" + REPLACEMENT, encode(bytes(0xE2, 0x28, 0xA1)));
+        assertEquals(REPLACEMENT + "\\n" + "b", encode(bytes(0xE2, 0x82, '\n', 'b')));
+    }
+
+    /**
+     * Overlong forms, surrogates and code points above U+10FFFF are replaced
+     *
+     * @throws Exception
+     */
+    @Test
+    public void replacesOutOfRangeSequences() throws Exception {
+        assertEquals(repeat('\uFFFD', 3) + "a", encode(bytes(0xE0, 0x80, 0xAF, 'a')));
+        assertEquals(repeat('\uFFFD', 3) + "a", encode(bytes(0xED, 0xA0, 0x80, 'a')));
+        assertEquals(repeat('\uFFFD', 4) + "a", encode(bytes(0xF0, 0x80, 0x80, 0xAF, 'a')));
+        assertEquals(repeat('\uFFFD', 4) + "a", encode(bytes(0xF4, 0x90, 0x80, 0x80, 'a')));
+        assertEquals("\u0800\uD7FF\uE000\uDBFF\uDFFF", encode(bytes(0xE0, 0xA0, 0x80, 0xED, 0x9F, 0xBF, 0xEE, 0x80, 0x80, 0xF4, 0x8F, 0xBF, 0xBF)));
+    }
+
+    /**
+     * A sequence truncated by the end of the log is replaced
+     *
+     * @throws Exception
+     */
+    @Test
+    public void replacesTruncatedSequenceAtEnd() throws Exception {
+        assertEquals("x" + REPLACEMENT, encode(bytes('x', 0xE2, 0x82)));
+        assertEquals("x" + REPLACEMENT, encode(bytes('x', 0xF0, 0x9F, 0x98, '\n')));
+    }
+
+    /**
+     * A multi-byte character across the buffer boundary is kept whole
+     *
+     * @throws Exception
+     */
+    @Test
+    public void keepsSequenceAcrossBufferBoundary() throws Exception {
+        String text = repeat('a', BUFFER_SIZE - 1) + "\u20ac" + repeat('b', 10);
+        assertEquals(text, encode(text));
+    }
+
+    /**
+     * A sequence truncated at the buffer boundary is replaced
+     *
+     * @throws Exception
+     */
+    @Test
+    public void replacesTruncatedSequenceAcrossBufferBoundary() throws Exception {
+        String head = repeat('a', BUFFER_SIZE - 1);
+        byte[] raw = concat(head.getBytes(StandardCharsets.US_ASCII), bytes(0xE2, 0x82, 'b'));
+        assertEquals(head + REPLACEMENT + "b", encode(raw));
+    }
+
+    /**
+     * A build log file is streamed as a single escaped log record
+     *
+     * @throws Exception
+     */
+    @Test
+    public void streamsLogFile() throws Exception {
+        File log = File.createTempFile("coralogix", ".log");
+        try {
+            String first = repeat('a', BUFFER_SIZE - 1) + "\u20ac \"quoted\"";
+            Files.write(log.toPath(), (first + "\r\n" + "last").getBytes(StandardCharsets.UTF_8));
+            LogStreamProducer producer = new LogStreamProducer(log, "key", "application", "subsystem", "1");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            producer.writeTo(out);
+            String body = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            String text = repeat('a', BUFFER_SIZE - 1) + "\u20ac \\\"quoted\\\"\\nlast";
+            assertTrue("log text is not in the body", body.contains("\"" + text + "\""));
+            assertEquals(2, producer.getLines());
+        } finally {
+            Files.delete(log.toPath());
+        }
+    }
+
+    /**
+     * Encode raw log text
+     *
+     * @param text log text
+     * @return escaped log text
+     * @throws IOException
+     */
+    private static String encode(String text) throws IOException {
+        return encode(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encode raw log bytes
+     *
+     * @param raw log bytes
+     * @return escaped log text
+     * @throws IOException
+     */
+    private static String encode(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LogStreamProducer.TextEncoder encoder = new LogStreamProducer.TextEncoder(out);
+        for (byte b : raw) {
+            encoder.accept(b);
+        }
+        encoder.finish();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Bytes builder
+     *
+     * @param values unsigned byte values
+     * @return bytes
+     */
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Join bytes
+     *
+     * @param first  first bytes
+     * @param second second bytes
+     * @return joined bytes
+     */
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Repeated character builder
+     *
+     * @param c     character
+     * @param count repetitions
+     * @return repeated character
+     */
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}